@@ -1,33 +1,26 @@
 package com.yehorychev.selenium.config;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Path;
 import java.time.Duration;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Properties;
-import java.util.stream.Collectors;
+import java.util.Locale;
 
 /**
  * Configuration class to manage test properties such as base URLs.
- * Reads properties from config.properties file.
+ * Reads from a {@link ConfigSnapshot} built once from config.properties, the optional profile overlay,
+ * system properties and environment variables.
  */
 public class ConfigProperties {
-    private static final Properties properties = new Properties();
-    private static final String CONFIG_FILE = "config.properties";
-
-    static {
-        try (InputStream input = ConfigProperties.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
-            if (input != null) {
-                properties.load(input);
-            } else {
-                throw new IOException("Configuration file not found: " + CONFIG_FILE);
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load configuration properties", e);
-        }
+    private static final ConfigSnapshot SNAPSHOT = ConfigSnapshot.load();
+
+    /**
+     * Get the merged, immutable configuration
+     *
+     * @return configuration snapshot
+     */
+    public static ConfigSnapshot snapshot() {
+        return SNAPSHOT;
     }
 
     /**
@@ -103,7 +96,16 @@ public class ConfigProperties {
      * @return Screenshot directory path
      */
     public static Path getScreenshotDirectory() {
-        return Path.of(getProperty("screenshot.directory"));
+        return SNAPSHOT.screenshots().directory();
+    }
+
+    /**
+     * Get the directory where run metrics (startup phases, wait latencies) are exported
+     *
+     * @return Metrics directory path
+     */
+    public static Path getMetricsDirectory() {
+        return SNAPSHOT.artifacts().metricsDirectory();
     }
 
     /**
@@ -112,44 +114,141 @@ public class ConfigProperties {
      * @return true if screenshots should be captured on failures only, false otherwise
      */
     public static boolean captureScreenshotsOnFailuresOnly() {
-        return Boolean.parseBoolean(getProperty("screenshot.failures.only"));
+        return SNAPSHOT.screenshots().failuresOnly();
     }
 
     public static String getDefaultBrowser() {
-        return properties.getProperty("browser.default", "chrome").trim();
+        return SNAPSHOT.browser().defaultBrowser();
     }
 
     public static String getBrowserOverride() {
-        return System.getProperty("browser", System.getenv().getOrDefault("BROWSER", ""));
+        return SNAPSHOT.browser().override();
+    }
+
+    /**
+     * Get the maximum number of concurrent local sessions for a browser ({@code browser.<name>.maxConcurrent})
+     *
+     * @param browserName browser name, case-insensitive
+     * @return session limit, or 0 when the browser is not limited
+     */
+    public static int getBrowserMaxConcurrent(String browserName) {
+        return SNAPSHOT.browser().maxConcurrent().getOrDefault(browserName.trim().toLowerCase(Locale.ROOT), 0);
+    }
+
+    public static boolean isDriverPoolEnabled() {
+        return SNAPSHOT.driver().poolEnabled();
+    }
+
+    /**
+     * Number of test methods a pooled WebDriver session may serve before it is recycled.
+     *
+     * @return maximum uses per pooled session
+     */
+    public static int getDriverPoolMaxUses() {
+        return SNAPSHOT.driver().poolMaxUses();
+    }
+
+    /**
+     * Check if browser sessions should be launched in the background ahead of test setup
+     *
+     * @return true if pre-warming is enabled, false otherwise
+     */
+    public static boolean isDriverPrewarmEnabled() {
+        return SNAPSHOT.driver().prewarmEnabled();
+    }
+
+    /**
+     * Check if driver binaries must be taken from the pinned local directory instead of WebDriverManager
+     *
+     * @return true if offline driver mode is enabled, false otherwise
+     */
+    public static boolean isDriverOfflineMode() {
+        return SNAPSHOT.driver().offlineMode();
+    }
+
+    /**
+     * Get the directory holding pinned driver binaries used in offline mode
+     *
+     * @return Driver binary directory path
+     */
+    public static Path getDriverBinaryDirectory() {
+        return SNAPSHOT.driver().binaryDirectory();
+    }
+
+    /**
+     * Get the maximum number of concurrent Selenium Grid sessions per browser
+     *
+     * @return configured session limit, or 0 to discover it from the grid's /status endpoint
+     */
+    public static int getGridMaxSessions() {
+        return SNAPSHOT.driver().gridMaxSessions();
+    }
+
+    public static Duration getGridAdmissionTimeout() {
+        return SNAPSHOT.driver().gridAdmissionTimeout();
     }
 
     public static Duration getDefaultWaitTimeout() {
-        return Duration.ofSeconds(Long.parseLong(getProperty("wait.default.seconds")));
+        return SNAPSHOT.waits().defaultTimeout();
     }
 
     public static Duration getDefaultWaitPollingInterval() {
-        return Duration.ofMillis(Long.parseLong(getProperty("wait.polling.millis")));
+        return SNAPSHOT.waits().pollingInterval();
+    }
+
+    /**
+     * Check if page objects may reuse element references located earlier on the same document
+     *
+     * @return true if the per-page element cache is enabled, false otherwise
+     */
+    public static boolean isElementCacheEnabled() {
+        return SNAPSHOT.waits().elementCacheEnabled();
+    }
+
+    /**
+     * Check if locator waits should run inside the browser (MutationObserver + executeAsyncScript)
+     * instead of polling over WebDriver
+     *
+     * @return true if event-driven waits are enabled, false otherwise
+     */
+    public static boolean isEventDrivenWaitEnabled() {
+        return SNAPSHOT.waits().eventDrivenEnabled();
+    }
+
+    /**
+     * Check if locator waits should use the learned, back-off based polling schedule
+     *
+     * @return true if adaptive polling is enabled, false otherwise
+     */
+    public static boolean isAdaptivePollingEnabled() {
+        return SNAPSHOT.waits().adaptivePollingEnabled();
+    }
+
+    /**
+     * Get the file where learned per-locator wait latencies are persisted between runs
+     *
+     * @return Locator latency statistics file path
+     */
+    public static Path getLocatorLatencyFile() {
+        return SNAPSHOT.waits().adaptiveStatsFile();
+    }
+
+    /**
+     * Check if the network activity tracker should be preloaded into every document via CDP or WebDriver BiDi
+     * (Firefox sessions then request a BiDi connection)
+     *
+     * @return true if the tracker preload is enabled, false to inject it into the current page on demand
+     */
+    public static boolean isNetworkTrackerPreloadEnabled() {
+        return SNAPSHOT.waits().networkTrackerPreloadEnabled();
     }
 
     public static boolean isHeadlessEnabled() {
-        String override = System.getProperty("browser.headless",
-                System.getenv().getOrDefault("BROWSER_HEADLESS", ""));
-        if (override != null && !override.isBlank()) {
-            return Boolean.parseBoolean(override.trim());
-        }
-        return Boolean.parseBoolean(properties.getProperty("browser.headless.enabled", "false"));
+        return SNAPSHOT.browser().headlessEnabled();
     }
 
     public static List<String> getHeadlessArguments() {
-        String override = System.getProperty("browser.headless.args",
-                System.getenv().getOrDefault("BROWSER_HEADLESS_ARGS", ""));
-        String raw = (override != null && !override.isBlank())
-                ? override
-                : properties.getProperty("browser.headless.args", "--headless=new;--disable-gpu");
-        return Arrays.stream(raw.split(";"))
-                .map(String::trim)
-                .filter(entry -> !entry.isEmpty())
-                .collect(Collectors.toList());
+        return SNAPSHOT.browser().headlessArguments();
     }
 
     /**
@@ -159,7 +258,7 @@ public class ConfigProperties {
      * @return the property value
      */
     public static String getProperty(String key) {
-        String value = properties.getProperty(key);
+        String value = SNAPSHOT.get(key, null);
         if (value == null) {
             throw new RuntimeException("Property not found: " + key);
         }
@@ -174,15 +273,123 @@ public class ConfigProperties {
         return getProperty("shopping.card.cvv");
     }
 
+    /**
+     * Get the number of background threads that encode and write screenshots and other artifacts
+     *
+     * @return Artifact pipeline thread count
+     */
+    public static int getArtifactPipelineThreads() {
+        return SNAPSHOT.artifacts().pipelineThreads();
+    }
+
+    /**
+     * Get how many artifacts may wait for a writer before test threads write them themselves
+     *
+     * @return Artifact pipeline queue capacity
+     */
+    public static int getArtifactPipelineQueueCapacity() {
+        return SNAPSHOT.artifacts().pipelineQueueCapacity();
+    }
+
+    /**
+     * Get how long the end of the suite waits for pending artifacts to be written
+     *
+     * @return Artifact flush timeout
+     */
+    public static Duration getArtifactFlushTimeout() {
+        return SNAPSHOT.artifacts().flushTimeout();
+    }
+
+    /**
+     * Get the root of the content-addressed artifact store (screenshots, page sources)
+     *
+     * @return Artifact store directory path
+     */
+    public static Path getArtifactStoreDirectory() {
+        return SNAPSHOT.artifacts().storeDirectory();
+    }
+
+    /**
+     * Get the size limit of the artifact store; least recently used blobs are removed beyond it
+     *
+     * @return Artifact store size limit in megabytes
+     */
+    public static long getArtifactStoreMaxMegabytes() {
+        return SNAPSHOT.artifacts().storeMaxMegabytes();
+    }
+
+    /**
+     * Get the number of pages a paginated table lookup may walk before it fails
+     *
+     * @return Maximum table pages per lookup
+     */
+    public static int getTableMaxPages() {
+        return SNAPSHOT.tableMaxPages();
+    }
+
+    /**
+     * Get the size up to which page sources are attached as plain, inline-viewable HTML; larger ones are gzipped
+     *
+     * @return Inline page source limit in kilobytes
+     */
+    public static long getPageSourceInlineKilobytes() {
+        return SNAPSHOT.artifacts().pageSourceInlineKilobytes();
+    }
+
+    /**
+     * Get the uncompressed size after which captured page sources are truncated (0 = no limit)
+     *
+     * @return Page source size cap in kilobytes
+     */
+    public static long getPageSourceMaxKilobytes() {
+        return SNAPSHOT.artifacts().pageSourceMaxKilobytes();
+    }
+
+    /**
+     * Get the size after which the browser console attachment is cut off
+     *
+     * @return Console log attachment cap in kilobytes
+     */
+    public static long getConsoleLogMaxKilobytes() {
+        return SNAPSHOT.artifacts().consoleLogMaxKilobytes();
+    }
+
     public static boolean isFullPageScreenshotsEnabled() {
-        return Boolean.parseBoolean(properties.getProperty("screenshot.fullpage.enabled", "true"));
+        return SNAPSHOT.screenshots().fullPageEnabled();
     }
 
     public static long getFullPageScrollTimeoutMillis() {
-        return Long.parseLong(properties.getProperty("screenshot.fullpage.scroll.timeout.millis", "100"));
+        return SNAPSHOT.screenshots().fullPageScrollTimeoutMillis();
     }
 
     public static double getFullPageDevicePixelRatio() {
-        return Double.parseDouble(properties.getProperty("screenshot.fullpage.device.pixel.ratio", "1.0"));
+        return SNAPSHOT.screenshots().fullPageDevicePixelRatio();
+    }
+
+    /**
+     * Get the image format for full-page screenshots: png, jpeg (or jpg) or webp
+     *
+     * @return Full-page screenshot format name
+     */
+    public static String getFullPageScreenshotFormat() {
+        return SNAPSHOT.screenshots().fullPageFormat();
+    }
+
+    /**
+     * Get the compression quality (0.0-1.0) used for jpeg/webp full-page screenshots
+     *
+     * @return Lossy compression quality
+     */
+    public static double getFullPageScreenshotQuality() {
+        return SNAPSHOT.screenshots().fullPageQuality();
+    }
+
+    /**
+     * Get the maximum width/height of full-page screenshots; larger captures are downscaled (0 = keep size)
+     *
+     * @return Maximum full-page screenshot dimension in pixels
+     */
+    public static int getFullPageScreenshotMaxDimension() {
+        return SNAPSHOT.screenshots().fullPageMaxDimension();
     }
 }
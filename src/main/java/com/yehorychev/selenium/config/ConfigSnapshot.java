@@ -0,0 +1,303 @@
+package com.yehorychev.selenium.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable view of the test configuration, built once per JVM. Values are merged from, in increasing
+ * precedence: the built-in {@link #DEFAULTS}, {@code config.properties}, the optional profile overlay
+ * {@code config-<profile>.properties} (profile taken from {@code -Dconfig.profile} or {@code CONFIG_PROFILE}),
+ * environment variables and system properties, so an explicit {@code -D} always wins over the environment. A
+ * key such as {@code browser.headless.enabled} is overridden by the system property of the same name or by
+ * {@code BROWSER_HEADLESS_ENABLED}; a few keys also accept the shorter legacy names listed in {@link #ALIASES}.
+ * Blank overrides are ignored and every value is trimmed. All settings are parsed up front into typed
+ * components; only free-form keys such as base URLs and credentials are looked up by name.
+ */
+public record ConfigSnapshot(
+        Map<String, String> values,
+        String profile,
+        Browser browser,
+        Driver driver,
+        Waits waits,
+        Screenshots screenshots,
+        Artifacts artifacts,
+        int tableMaxPages) {
+
+    private static final String CONFIG_FILE = "config.properties";
+    private static final String PROFILE_PROPERTY = "config.profile";
+    private static final Pattern MAX_CONCURRENT_KEY = Pattern.compile("browser\\.(.+)\\.maxConcurrent");
+
+    /**
+     * Values used when a key is missing from every source; they match the shipped {@code config.properties}, so
+     * a profile or trimmed-down file behaves the same as the full one. Listing a key here also makes it
+     * overridable from the environment and system properties.
+     */
+    static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("browser", ""),
+            Map.entry("browser.default", "chrome"),
+            Map.entry("browser.headless.enabled", "true"),
+            Map.entry("browser.headless.args", "--headless=new;--disable-gpu;--window-size=1920,1080"),
+            Map.entry("browser.chrome.maxConcurrent", "0"),
+            Map.entry("browser.firefox.maxConcurrent", "0"),
+            Map.entry("browser.safari.maxConcurrent", "1"),
+            Map.entry("driver.pool.enabled", "false"),
+            Map.entry("driver.pool.max.uses", "25"),
+            Map.entry("driver.prewarm.enabled", "false"),
+            Map.entry("driver.offline.enabled", "false"),
+            Map.entry("driver.binary.directory", "drivers"),
+            Map.entry("selenium.grid.max.sessions", "0"),
+            Map.entry("selenium.grid.admission.timeout.seconds", "300"),
+            Map.entry("wait.default.seconds", "5"),
+            Map.entry("wait.polling.millis", "200"),
+            Map.entry("wait.event.driven.enabled", "true"),
+            Map.entry("element.cache.enabled", "true"),
+            Map.entry("wait.polling.adaptive.enabled", "true"),
+            Map.entry("wait.adaptive.stats.file", ".cache/locator-latency.json"),
+            Map.entry("wait.network.tracker.preload.enabled", "true"),
+            Map.entry("screenshot.directory", "target/screenshots"),
+            Map.entry("screenshot.failures.only", "true"),
+            Map.entry("screenshot.fullpage.enabled", "true"),
+            Map.entry("screenshot.fullpage.scroll.timeout.millis", "100"),
+            Map.entry("screenshot.fullpage.device.pixel.ratio", "1.0"),
+            Map.entry("screenshot.fullpage.format", "png"),
+            Map.entry("screenshot.fullpage.quality", "0.8"),
+            Map.entry("screenshot.fullpage.max.dimension", "0"),
+            Map.entry("artifact.pipeline.threads", "2"),
+            Map.entry("artifact.pipeline.queue.capacity", "32"),
+            Map.entry("artifact.pipeline.flush.timeout.seconds", "60"),
+            Map.entry("artifact.store.directory", "target/artifacts"),
+            Map.entry("artifact.store.max.megabytes", "512"),
+            Map.entry("page.source.inline.kilobytes", "512"),
+            Map.entry("page.source.max.kilobytes", "2048"),
+            Map.entry("attachment.console.max.kilobytes", "512"),
+            Map.entry("metrics.directory", "target/metrics"),
+            Map.entry("table.max.pages", "20"));
+
+    /**
+     * Extra system property / environment variable names accepted for a key, checked after the key's own names.
+     */
+    private static final Map<String, List<String>> ALIASES = Map.of(
+            "browser.headless.enabled", List.of("browser.headless", "headless", "BROWSER_HEADLESS"),
+            "driver.offline.enabled", List.of("driver.offline", "DRIVER_OFFLINE"));
+
+    public ConfigSnapshot {
+        values = Map.copyOf(values);
+    }
+
+    /**
+     * Browser selection and local browser limits.
+     *
+     * @param maxConcurrent session limit per lower-case browser name; browsers not listed are unlimited
+     */
+    public record Browser(String defaultBrowser, String override, boolean headlessEnabled,
+                          List<String> headlessArguments, Map<String, Integer> maxConcurrent) {
+
+        public Browser {
+            headlessArguments = List.copyOf(headlessArguments);
+            maxConcurrent = Map.copyOf(maxConcurrent);
+        }
+    }
+
+    /**
+     * Driver session lifecycle: pooling, pre-warming, binary resolution and grid admission.
+     */
+    public record Driver(boolean poolEnabled, int poolMaxUses, boolean prewarmEnabled, boolean offlineMode,
+                         Path binaryDirectory, int gridMaxSessions, Duration gridAdmissionTimeout) {
+    }
+
+    public record Waits(Duration defaultTimeout, Duration pollingInterval, boolean eventDrivenEnabled,
+                        boolean adaptivePollingEnabled, Path adaptiveStatsFile, boolean elementCacheEnabled,
+                        boolean networkTrackerPreloadEnabled) {
+    }
+
+    public record Screenshots(Path directory, boolean failuresOnly, boolean fullPageEnabled,
+                              long fullPageScrollTimeoutMillis, double fullPageDevicePixelRatio, String fullPageFormat,
+                              double fullPageQuality, int fullPageMaxDimension) {
+    }
+
+    /**
+     * Artifact pipeline and store, attachment size limits and the metrics export directory.
+     */
+    public record Artifacts(int pipelineThreads, int pipelineQueueCapacity, Duration flushTimeout,
+                            Path storeDirectory, long storeMaxMegabytes, long pageSourceInlineKilobytes,
+                            long pageSourceMaxKilobytes, long consoleLogMaxKilobytes, Path metricsDirectory) {
+    }
+
+    /**
+     * Loads and merges every configuration source.
+     *
+     * @return the configuration snapshot
+     */
+    public static ConfigSnapshot load() {
+        return from(System.getProperties(), System.getenv());
+    }
+
+    static ConfigSnapshot from(Properties systemProperties, Map<String, String> environment) {
+        Map<String, String> values = new HashMap<>(DEFAULTS);
+        values.putAll(readResource(CONFIG_FILE));
+
+        String profile = firstNonBlank(systemProperties.getProperty(PROFILE_PROPERTY),
+                environment.get(environmentName(PROFILE_PROPERTY)));
+        if (profile != null) {
+            profile = profile.trim();
+            values.putAll(readResource("config-" + profile + ".properties"));
+        }
+
+        Set<String> keys = new LinkedHashSet<>(values.keySet());
+        keys.addAll(ALIASES.keySet());
+        for (String key : keys) {
+            List<String> aliases = ALIASES.getOrDefault(key, List.of());
+            String systemValue = firstNonBlank(systemProperties.getProperty(key),
+                    aliases.stream().map(systemProperties::getProperty).filter(ConfigSnapshot::isPresent)
+                            .findFirst().orElse(null));
+            String environmentValue = firstNonBlank(environment.get(environmentName(key)),
+                    aliases.stream().map(environment::get).filter(ConfigSnapshot::isPresent)
+                            .findFirst().orElse(null));
+            String override = firstNonBlank(systemValue, environmentValue);
+            if (override != null) {
+                values.put(key, override.trim());
+            }
+        }
+
+        return new ConfigSnapshot(
+                values,
+                profile,
+                new Browser(
+                        values.get("browser.default"),
+                        values.get("browser"),
+                        bool(values, "browser.headless.enabled"),
+                        Arrays.stream(values.get("browser.headless.args").split(";"))
+                                .map(String::trim)
+                                .filter(entry -> !entry.isEmpty())
+                                .toList(),
+                        maxConcurrent(values)),
+                new Driver(
+                        bool(values, "driver.pool.enabled"),
+                        integer(values, "driver.pool.max.uses"),
+                        bool(values, "driver.prewarm.enabled"),
+                        bool(values, "driver.offline.enabled"),
+                        path(values, "driver.binary.directory"),
+                        integer(values, "selenium.grid.max.sessions"),
+                        Duration.ofSeconds(number(values, "selenium.grid.admission.timeout.seconds"))),
+                new Waits(
+                        Duration.ofSeconds(number(values, "wait.default.seconds")),
+                        Duration.ofMillis(number(values, "wait.polling.millis")),
+                        bool(values, "wait.event.driven.enabled"),
+                        bool(values, "wait.polling.adaptive.enabled"),
+                        path(values, "wait.adaptive.stats.file"),
+                        bool(values, "element.cache.enabled"),
+                        bool(values, "wait.network.tracker.preload.enabled")),
+                new Screenshots(
+                        path(values, "screenshot.directory"),
+                        bool(values, "screenshot.failures.only"),
+                        bool(values, "screenshot.fullpage.enabled"),
+                        number(values, "screenshot.fullpage.scroll.timeout.millis"),
+                        decimal(values, "screenshot.fullpage.device.pixel.ratio"),
+                        values.get("screenshot.fullpage.format"),
+                        decimal(values, "screenshot.fullpage.quality"),
+                        integer(values, "screenshot.fullpage.max.dimension")),
+                new Artifacts(
+                        integer(values, "artifact.pipeline.threads"),
+                        integer(values, "artifact.pipeline.queue.capacity"),
+                        Duration.ofSeconds(number(values, "artifact.pipeline.flush.timeout.seconds")),
+                        path(values, "artifact.store.directory"),
+                        number(values, "artifact.store.max.megabytes"),
+                        number(values, "page.source.inline.kilobytes"),
+                        number(values, "page.source.max.kilobytes"),
+                        number(values, "attachment.console.max.kilobytes"),
+                        path(values, "metrics.directory")),
+                integer(values, "table.max.pages"));
+    }
+
+    /**
+     * Get a raw value
+     *
+     * @param key the property key
+     * @param defaultValue value returned when the key is not configured
+     * @return the merged value, or the default
+     */
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    private static Map<String, String> readResource(String name) {
+        try (InputStream input = ConfigSnapshot.class.getClassLoader().getResourceAsStream(name)) {
+            if (input == null) {
+                throw new IOException("Configuration file not found: " + name);
+            }
+            Properties properties = new Properties();
+            properties.load(input);
+            Map<String, String> values = new HashMap<>();
+            properties.stringPropertyNames().forEach(key -> values.put(key, properties.getProperty(key).trim()));
+            return values;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load configuration properties", e);
+        }
+    }
+
+    private static Map<String, Integer> maxConcurrent(Map<String, String> values) {
+        Map<String, Integer> limits = new HashMap<>();
+        values.keySet().forEach(key -> {
+            Matcher matcher = MAX_CONCURRENT_KEY.matcher(key);
+            if (matcher.matches()) {
+                limits.put(matcher.group(1).toLowerCase(Locale.ROOT), integer(values, key));
+            }
+        });
+        return limits;
+    }
+
+    private static boolean bool(Map<String, String> values, String key) {
+        return Boolean.parseBoolean(values.get(key));
+    }
+
+    private static int integer(Map<String, String> values, String key) {
+        return Math.toIntExact(number(values, key));
+    }
+
+    private static long number(Map<String, String> values, String key) {
+        try {
+            return Long.parseLong(values.get(key));
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + values.get(key), e);
+        }
+    }
+
+    private static double decimal(Map<String, String> values, String key) {
+        try {
+            return Double.parseDouble(values.get(key));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + values.get(key), e);
+        }
+    }
+
+    private static Path path(Map<String, String> values, String key) {
+        return Path.of(values.get(key));
+    }
+
+    private static String environmentName(String key) {
+        return key.replace('.', '_').replace('-', '_').toUpperCase(Locale.ROOT);
+    }
+
+    private static String firstNonBlank(String first, String second) {
+        if (isPresent(first)) {
+            return first;
+        }
+        return isPresent(second) ? second : null;
+    }
+
+    private static boolean isPresent(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,260 @@
+package com.yehorychev.selenium.helpers;
+
+import com.yehorychev.selenium.config.ConfigProperties;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Encodes, persists and attaches test artifacts off the test thread. The Allure attachment is registered
+ * on the calling thread, so it lands on the right test or fixture, while its content is stored later by a
+ * small worker pool in the {@link ArtifactStore} and linked into the Allure results. The work queue is
+ * bounded: when it is full the caller runs the job itself, which slows the producer down instead of dropping
+ * artifacts. {@link #flush} waits for everything submitted so far. Bytes and write time are accumulated per
+ * test, as named by the caller, for the end-of-suite report.
+ */
+public final class ArtifactPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ArtifactPipeline.class);
+
+    private final ThreadPoolExecutor executor;
+    private final ArtifactStore store;
+    private final Path allureResults;
+    private final Set<CompletableFuture<Path>> pending = ConcurrentHashMap.newKeySet();
+    private final Map<String, AttachmentTotals> perTest = new ConcurrentHashMap<>();
+
+    public ArtifactPipeline(int threads, int queueCapacity, ArtifactStore store) {
+        this.store = store;
+        this.allureResults = Path.of(System.getProperty("allure.results.directory", "allure-results"));
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "artifact-writer-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * JVM-wide pipeline sized from {@code artifact.pipeline.threads} and {@code artifact.pipeline.queue.capacity}.
+     */
+    public static ArtifactPipeline shared() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Queues an artifact. {@code encoder} runs on a worker thread and must not touch the browser.
+     *
+     * @param test test the artifact belongs to, the key of {@link #statsPerTest}
+     * @param name attachment name shown in Allure
+     * @return completes with the stored blob once it and the Allure attachment are written
+     */
+    public CompletableFuture<Path> submit(String test, String name, String mimeType, String extension,
+                                          Callable<byte[]> encoder) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String source = lifecycle.prepareAttachment(name, mimeType, extension);
+        return schedule(test, name, () -> {
+            byte[] bytes = encoder.call();
+            Path blob = store.store(bytes, extension);
+            try {
+                store.link(blob, allureResults.resolve(source));
+            } catch (IOException e) {
+                lifecycle.writeAttachment(source, new ByteArrayInputStream(bytes));
+            }
+            return new Written(blob, bytes.length);
+        });
+    }
+
+    /**
+     * Queues an artifact whose content is streamed straight into the {@link ArtifactStore}. {@code writer} runs
+     * on a worker thread and must not touch the browser.
+     *
+     * @param test test the artifact belongs to, the key of {@link #statsPerTest}
+     * @param name attachment name shown in Allure
+     * @return completes with the stored blob once it and the Allure attachment are written
+     */
+    public CompletableFuture<Path> submitStreamed(String test, String name, String mimeType, String extension,
+                                                  ArtifactStore.ContentWriter writer) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String source = lifecycle.prepareAttachment(name, mimeType, extension);
+        Path target = allureResults.resolve(source);
+        return schedule(test, name, () -> {
+            Path blob = store.store(writer, extension);
+            store.link(blob, target);
+            return new Written(blob, Files.size(blob));
+        });
+    }
+
+    /**
+     * Adds an attachment holding the decompressed content of a gzip blob once {@code gzipBlob} is stored, e.g.
+     * an inline-viewable preview of a compressed page source. The preview is read back from the stored copy,
+     * so it shows exactly what was archived.
+     */
+    public CompletableFuture<Path> attachDecompressed(String test, String name, String mimeType, String extension,
+                                                      CompletableFuture<Path> gzipBlob) {
+        String source = Allure.getLifecycle().prepareAttachment(name, mimeType, extension);
+        Path target = allureResults.resolve(source);
+        CompletableFuture<Path> preview = gzipBlob.thenCompose(blob -> schedule(test, name, () -> {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(blob))) {
+                Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new Written(target, Files.size(target));
+        }));
+        // registered now, so a flush that starts before the blob is stored still waits for the preview
+        track(preview);
+        return preview;
+    }
+
+    /**
+     * Streams text lines into a plain-text attachment. Once {@code maxBytes} are written the remaining lines
+     * are only counted, and the attachment ends with a truncation marker stating the size kept and the full
+     * line count, as page sources do. {@code lines} is iterated on a worker thread.
+     */
+    public CompletableFuture<Path> submitLines(String test, String name, Iterable<String> lines, long maxBytes) {
+        String source = Allure.getLifecycle().prepareAttachment(name, "text/plain", "txt");
+        Path target = allureResults.resolve(source);
+        return schedule(test, name, () -> {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            long written = 0;
+            long total = 0;
+            boolean truncated = false;
+            try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+                for (String line : lines) {
+                    total++;
+                    if (truncated) {
+                        continue;
+                    }
+                    long lineBytes = line.getBytes(StandardCharsets.UTF_8).length + 1L;
+                    if (maxBytes > 0 && written + lineBytes > maxBytes) {
+                        truncated = true;
+                        continue;
+                    }
+                    writer.write(line);
+                    writer.newLine();
+                    written += lineBytes;
+                }
+                if (truncated) {
+                    writer.write("[" + name + " truncated after " + written + " bytes, full log had " + total
+                            + " lines]");
+                    writer.newLine();
+                }
+            }
+            return new Written(target, Files.size(target));
+        });
+    }
+
+    private CompletableFuture<Path> schedule(String test, String name, Callable<Written> job) {
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        track(future);
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                Written written = job.call();
+                perTest.computeIfAbsent(test, ignored -> new AttachmentTotals())
+                        .add(written.bytes(), System.nanoTime() - start);
+                future.complete(written.path());
+            } catch (Exception e) {
+                log.warn("Failed to write artifact {}", name, e);
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private void track(CompletableFuture<Path> future) {
+        pending.add(future);
+        future.whenComplete((path, error) -> pending.remove(future));
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Attachment count, bytes and worker write time per test, as of now.
+     */
+    public Map<String, AttachmentStats> statsPerTest() {
+        Map<String, AttachmentStats> stats = new TreeMap<>();
+        perTest.forEach((test, totals) -> stats.put(test, totals.snapshot()));
+        return stats;
+    }
+
+    /**
+     * Waits until every artifact submitted before this call is written.
+     *
+     * @return true if all artifacts completed within the timeout
+     */
+    public boolean flush(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (CompletableFuture<Path> future : Set.copyOf(pending)) {
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                // already logged by the worker
+            } catch (TimeoutException e) {
+                log.warn("{} artifacts still pending after {}", pending.size(), timeout);
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public record AttachmentStats(long attachments, long bytes, double writeMillis) {
+    }
+
+    private record Written(Path path, long bytes) {
+    }
+
+    private static final class AttachmentTotals {
+        private long attachments;
+        private long bytes;
+        private long nanos;
+
+        private synchronized void add(long attachmentBytes, long writeNanos) {
+            attachments++;
+            bytes += attachmentBytes;
+            nanos += writeNanos;
+        }
+
+        private synchronized AttachmentStats snapshot() {
+            return new AttachmentStats(attachments, bytes, nanos / 1_000_000.0);
+        }
+    }
+
+    private static final class Holder {
+        private static final ArtifactPipeline INSTANCE = new ArtifactPipeline(
+                ConfigProperties.getArtifactPipelineThreads(), ConfigProperties.getArtifactPipelineQueueCapacity(),
+                ArtifactStore.shared());
+    }
+}
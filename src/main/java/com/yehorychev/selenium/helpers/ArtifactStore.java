@@ -0,0 +1,306 @@
+package com.yehorychev.selenium.helpers;
+
+import com.yehorychev.selenium.config.ConfigProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store for test artifacts: each blob is saved once under its SHA-256
+ * ({@code <root>/ab/abcdef....png}), so identical screenshots and page sources cost no extra disk. Allure
+ * attachments are hard links to the blob where the file system allows it. When the store grows beyond its
+ * size limit, the least recently stored or reused blobs are deleted first, together with the attachments this
+ * store exposed them as, since a surviving hard link would keep the space allocated.
+ */
+public final class ArtifactStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ArtifactStore.class);
+
+    private final Path root;
+    private final long maxBytes;
+    private final AtomicLong totalBytes = new AtomicLong(-1);
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final Map<Path, Set<Path>> exposures = new ConcurrentHashMap<>();
+
+    public ArtifactStore(Path root, long maxBytes) {
+        this.root = root;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * JVM-wide store under {@code artifact.store.directory}, limited to {@code artifact.store.max.megabytes}.
+     */
+    public static ArtifactStore shared() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Stores the bytes unless an identical blob exists already.
+     *
+     * @return path of the blob holding the bytes
+     */
+    public Path store(byte[] bytes, String extension) {
+        String hash = HexFormat.of().formatHex(sha256().digest(bytes));
+        Path blob = blobPath(hash, extension);
+        try {
+            if (reuse(blob)) {
+                return blob;
+            }
+            Files.createDirectories(blob.getParent());
+            Path temp = Files.createTempFile(blob.getParent(), hash, ".tmp");
+            try {
+                Files.write(temp, bytes);
+                return commit(temp, blob, bytes.length);
+            } finally {
+                deleteQuietly(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store artifact " + blob, e);
+        }
+    }
+
+    /**
+     * Streams content into the store, hashing it on the way, so large artifacts never have to be held in memory.
+     * The content is kept unless an identical blob exists already.
+     *
+     * @return path of the blob holding the content
+     */
+    public Path store(ContentWriter writer, String extension) {
+        Path temp = null;
+        try {
+            Files.createDirectories(root);
+            temp = Files.createTempFile(root, "stream", ".tmp");
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)),
+                    digest)) {
+                writer.writeTo(out);
+            }
+            Path blob = blobPath(HexFormat.of().formatHex(digest.digest()), extension);
+            if (reuse(blob)) {
+                return blob;
+            }
+            Files.createDirectories(blob.getParent());
+            return commit(temp, blob, Files.size(temp));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store artifact in " + root, e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private boolean reuse(Path blob) throws IOException {
+        if (!Files.exists(blob)) {
+            return false;
+        }
+        Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis()));
+        deduplicated.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Publishes the temp file as the blob without ever replacing an existing one, so content stored by another
+     * thread meanwhile is counted as a duplicate rather than twice towards the store size. The caller deletes
+     * the temp file.
+     */
+    private Path commit(Path temp, Path blob, long size) throws IOException {
+        // measured before publishing, so a first lazy scan does not count the new blob twice
+        long sizeBefore = currentSize();
+        try {
+            Files.createLink(blob, temp);
+        } catch (FileAlreadyExistsException e) {
+            // another thread stored the same content meanwhile
+            deduplicated.incrementAndGet();
+            return blob;
+        } catch (UnsupportedOperationException | IOException e) {
+            // no hard links here; a move without REPLACE_EXISTING refuses an existing target as well
+            try {
+                Files.move(temp, blob);
+            } catch (FileAlreadyExistsException raced) {
+                deduplicated.incrementAndGet();
+                return blob;
+            }
+        }
+        if (sizeBefore + size > maxBytes) {
+            enforceRetention();
+        } else {
+            totalBytes.addAndGet(size);
+        }
+        return blob;
+    }
+
+    /**
+     * Exposes the blob as {@code target}, as a hard link when possible and otherwise as a channel-to-channel
+     * copy that never loads the file into the heap. The target is remembered, so retention removes it together
+     * with the blob.
+     */
+    public void link(Path blob, Path target) throws IOException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        try {
+            Files.createLink(target, blob);
+        } catch (UnsupportedOperationException | IOException e) {
+            try (FileChannel in = FileChannel.open(blob, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                         StandardOpenOption.TRUNCATE_EXISTING)) {
+                long position = 0;
+                long size = in.size();
+                while (position < size) {
+                    position += in.transferTo(position, size - position, out);
+                }
+            }
+        }
+        exposures.computeIfAbsent(key(blob), ignored -> ConcurrentHashMap.newKeySet()).add(target);
+    }
+
+    public long deduplicatedCount() {
+        return deduplicated.get();
+    }
+
+    private long currentSize() {
+        long size = totalBytes.get();
+        if (size < 0) {
+            totalBytes.compareAndSet(-1, scanSize());
+            size = totalBytes.get();
+        }
+        return size;
+    }
+
+    private synchronized void enforceRetention() throws IOException {
+        List<Path> blobs = listBlobs();
+        long size = 0;
+        for (Path blob : blobs) {
+            size += Files.size(blob);
+        }
+        blobs.sort(Comparator.comparing(ArtifactStore::lastModified));
+        int removed = 0;
+        int stillLinked = 0;
+        for (Path blob : blobs) {
+            if (size <= maxBytes) {
+                break;
+            }
+            long blobSize = Files.size(blob);
+            // a hard-linked attachment keeps the data allocated, so drop the attachments along with the blob
+            Set<Path> targets = exposures.remove(key(blob));
+            if (targets != null) {
+                for (Path target : targets) {
+                    Files.deleteIfExists(target);
+                }
+            }
+            if (linkCount(blob) > 1) {
+                // linked from outside this run, e.g. an attachment of an earlier one
+                stillLinked++;
+            }
+            if (Files.deleteIfExists(blob)) {
+                size -= blobSize;
+                removed++;
+            }
+        }
+        totalBytes.set(size);
+        log.debug("Artifact store retention removed {} blobs, {} bytes remain", removed, size);
+        if (stillLinked > 0) {
+            log.info("{} removed artifact blobs are still hard-linked from earlier runs; clean those results to "
+                    + "free the space", stillLinked);
+        }
+    }
+
+    private static int linkCount(Path blob) {
+        try {
+            return ((Number) Files.getAttribute(blob, "unix:nlink")).intValue();
+        } catch (UnsupportedOperationException | IllegalArgumentException | IOException e) {
+            return 1;
+        }
+    }
+
+    private static Path key(Path blob) {
+        return blob.toAbsolutePath().normalize();
+    }
+
+    private long scanSize() {
+        long size = 0;
+        try {
+            for (Path blob : listBlobs()) {
+                size += Files.size(blob);
+            }
+        } catch (IOException e) {
+            log.debug("Unable to measure artifact store {}", root, e);
+        }
+        return size;
+    }
+
+    private List<Path> listBlobs() throws IOException {
+        if (!Files.isDirectory(root)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.walk(root, 2)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().endsWith(".tmp"))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private Path blobPath(String hash, String extension) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash + "." + extension);
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Unable to delete temporary artifact {}", file, e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Writes artifact content to a stream owned by the store.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private static final class Holder {
+        private static final ArtifactStore INSTANCE = new ArtifactStore(ConfigProperties.getArtifactStoreDirectory(),
+                ConfigProperties.getArtifactStoreMaxMegabytes() * 1024 * 1024);
+    }
+}
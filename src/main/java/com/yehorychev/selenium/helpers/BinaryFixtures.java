@@ -0,0 +1,315 @@
+package com.yehorychev.selenium.helpers;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Precompiled binary form of JSON array fixtures. {@code foo.json} is compiled at build time into
+ * {@code foo.json.smile}: a header stamped with the length and modification time of the source JSON, the
+ * element count and an offset index, followed by one self-contained Smile document per array element.
+ * Freshness is checked against the JSON's file metadata, never its content, so a stale build output never
+ * shadows an edited fixture and the text is not read on the fast path. Only the header is kept in memory;
+ * elements are read from the resource one at a time.
+ */
+public final class BinaryFixtures {
+
+    public static final String EXTENSION = ".smile";
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryFixtures.class);
+    private static final int MAGIC = 0x46585332; // "FXS2"
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final Map<String, Optional<Fixture>> HEADERS = new ConcurrentHashMap<>();
+
+    private BinaryFixtures() {
+        // utility class
+    }
+
+    /**
+     * Build step: compiles every top-level-array {@code *.json} file in the given directories (recursively)
+     * next to its source, skipping those whose binary form is still stamped with the source's current length
+     * and modification time. Bound to {@code process-test-classes} in the pom.
+     */
+    public static void main(String[] args) throws IOException {
+        for (String directory : args) {
+            Path root = Path.of(directory);
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(root)) {
+                for (Path json : files.filter(file -> file.toString().endsWith(".json")).toList()) {
+                    if (isCurrent(json)) {
+                        log.debug("Skipping {}: binary fixture is current", json);
+                        continue;
+                    }
+                    compile(json);
+                }
+            }
+        }
+    }
+
+    private static boolean isCurrent(Path json) throws IOException {
+        Path binary = json.resolveSibling(json.getFileName() + EXTENSION);
+        return Files.exists(binary) && open(json.toUri().toURL(), binary.toUri().toURL()).isPresent();
+    }
+
+    /**
+     * Writes {@code <json>.smile} next to the source.
+     *
+     * @return the binary file, or empty when the JSON root is not an array
+     */
+    public static Optional<Path> compile(Path json) throws IOException {
+        byte[] source = Files.readAllBytes(json);
+        Optional<byte[]> encoded = encode(source, Files.getLastModifiedTime(json).toMillis());
+        if (encoded.isEmpty()) {
+            log.debug("Skipping {}: root is not an array", json);
+            return Optional.empty();
+        }
+        Path target = json.resolveSibling(json.getFileName() + EXTENSION);
+        Files.write(target, encoded.get());
+        log.info("Compiled {} ({} bytes) to {} ({} bytes)", json, source.length, target, encoded.get().length);
+        return Optional.of(target);
+    }
+
+    /**
+     * Encodes a JSON array, stamping it with the source length and the given modification time.
+     */
+    public static Optional<byte[]> encode(byte[] json, long sourceModifiedMillis) throws IOException {
+        List<byte[]> documents = new ArrayList<>();
+        try (JsonParser parser = JSON_MAPPER.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return Optional.empty();
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                JsonNode element = JSON_MAPPER.readTree(parser);
+                documents.add(SMILE_MAPPER.writeValueAsBytes(element));
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeLong(json.length);
+            out.writeLong(sourceModifiedMillis);
+            out.writeInt(documents.size());
+            long offset = 0;
+            for (byte[] document : documents) {
+                out.writeLong(offset);
+                offset += document.length;
+            }
+            out.writeLong(offset);
+            for (byte[] document : documents) {
+                out.write(document);
+            }
+        }
+        return Optional.of(bytes.toByteArray());
+    }
+
+    /**
+     * Precompiled form of a classpath JSON fixture, if it exists and is stamped with the JSON's current length
+     * and modification time. The result is cached per resource for the lifetime of the JVM.
+     */
+    static Optional<Fixture> forResource(String resourcePath) {
+        return HEADERS.computeIfAbsent(resourcePath, path -> {
+            ClassLoader classLoader = BinaryFixtures.class.getClassLoader();
+            URL json = classLoader.getResource(path);
+            URL binary = classLoader.getResource(path + EXTENSION);
+            return json == null || binary == null ? Optional.empty() : open(json, binary);
+        });
+    }
+
+    /**
+     * Opens a binary fixture, reading only its header.
+     *
+     * @return the fixture, or empty when it cannot be read or does not match the JSON source
+     */
+    public static Optional<Fixture> open(URL json, URL binary) {
+        try {
+            Fixture fixture;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(binary.openStream()))) {
+                fixture = Fixture.readHeader(binary, in);
+            }
+            Stamp stamp = Stamp.of(json);
+            if (fixture.sourceLength != stamp.length() || fixture.sourceModifiedMillis != stamp.modifiedMillis()) {
+                log.debug("Ignoring stale binary fixture for {}", json);
+                return Optional.empty();
+            }
+            return Optional.of(fixture);
+        } catch (IOException | RuntimeException e) {
+            log.debug("No usable binary fixture for {}, falling back to JSON", json, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Source length and modification time, taken from file metadata (or the jar entry) without reading it.
+     */
+    private record Stamp(long length, long modifiedMillis) {
+
+        private static Stamp of(URL url) throws IOException {
+            if ("file".equals(url.getProtocol())) {
+                try {
+                    Path file = Path.of(url.toURI());
+                    return new Stamp(Files.size(file), Files.getLastModifiedTime(file).toMillis());
+                } catch (URISyntaxException e) {
+                    throw new IOException("Invalid fixture location: " + url, e);
+                }
+            }
+            URLConnection connection = url.openConnection();
+            try {
+                return new Stamp(connection.getContentLengthLong(), connection.getLastModified());
+            } finally {
+                connection.getInputStream().close();
+            }
+        }
+    }
+
+    /**
+     * Header and offset index of a binary fixture; elements are decoded on demand from the resource.
+     */
+    public static final class Fixture {
+        private final URL location;
+        private final long sourceLength;
+        private final long sourceModifiedMillis;
+        private final long[] offsets;
+        private final long dataStart;
+
+        private Fixture(URL location, long sourceLength, long sourceModifiedMillis, long[] offsets, long dataStart) {
+            this.location = location;
+            this.sourceLength = sourceLength;
+            this.sourceModifiedMillis = sourceModifiedMillis;
+            this.offsets = offsets;
+            this.dataStart = dataStart;
+        }
+
+        private static Fixture readHeader(URL location, DataInputStream in) throws IOException {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalStateException("Not a binary fixture: " + location);
+            }
+            long sourceLength = in.readLong();
+            long sourceModifiedMillis = in.readLong();
+            long[] offsets = new long[in.readInt() + 1];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = in.readLong();
+            }
+            long dataStart = Integer.BYTES + 2L * Long.BYTES + Integer.BYTES + (long) offsets.length * Long.BYTES;
+            return new Fixture(location, sourceLength, sourceModifiedMillis, offsets, dataStart);
+        }
+
+        public int size() {
+            return offsets.length - 1;
+        }
+
+        /**
+         * Decodes a single element, skipping straight to its offset.
+         */
+        public <T> T element(int index, JavaType type) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Fixture has " + size() + " elements, requested " + index);
+            }
+            try (InputStream in = location.openStream()) {
+                in.skipNBytes(dataStart + offsets[index]);
+                return decode(in, index, type);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to decode fixture element " + index + " of " + location, e);
+            }
+        }
+
+        public <T> List<T> elements(JavaType elementType) {
+            List<T> elements = new ArrayList<>(size());
+            iterator(elementType).forEachRemaining(row -> {
+                @SuppressWarnings("unchecked")
+                T element = (T) row[0];
+                elements.add(element);
+            });
+            return elements;
+        }
+
+        /**
+         * Reads the elements in order from one open stream, holding only the current one in memory. The stream is
+         * closed once the elements are exhausted or decoding fails.
+         */
+        public Iterator<Object[]> iterator(JavaType elementType) {
+            return new Iterator<>() {
+                private InputStream in;
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size();
+                }
+
+                @Override
+                public Object[] next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    try {
+                        if (in == null) {
+                            in = new BufferedInputStream(location.openStream());
+                            in.skipNBytes(dataStart);
+                        }
+                        Object element = decode(in, next, elementType);
+                        next++;
+                        if (!hasNext()) {
+                            in.close();
+                        }
+                        return new Object[]{element};
+                    } catch (IOException | RuntimeException e) {
+                        next = size();
+                        closeQuietly(in);
+                        if (e instanceof IOException io) {
+                            throw new UncheckedIOException("Failed to read binary fixture " + location, io);
+                        }
+                        throw (RuntimeException) e;
+                    }
+                }
+            };
+        }
+
+        private <T> T decode(InputStream in, int index, JavaType type) throws IOException {
+            byte[] document = in.readNBytes((int) (offsets[index + 1] - offsets[index]));
+            return SMILE_MAPPER.readValue(document, type);
+        }
+
+        private static void closeQuietly(InputStream in) {
+            if (in == null) {
+                return;
+            }
+            try {
+                in.close();
+            } catch (IOException ignored) {
+                // nothing left to release
+            }
+        }
+    }
+}
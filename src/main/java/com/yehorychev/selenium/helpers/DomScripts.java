@@ -0,0 +1,57 @@
+package com.yehorychev.selenium.helpers;
+
+import org.openqa.selenium.By;
+
+import java.util.Optional;
+
+/**
+ * JavaScript shared by the scripts that locate and inspect elements inside the browser, so every in-page
+ * check resolves locators and judges visibility the same way. Scripts prepend {@link #FUNCTIONS} to their body.
+ */
+public final class DomScripts {
+
+    /**
+     * Declares {@code queryAll(using, value)}, which resolves a CSS or XPath locator to an array of nodes, and
+     * {@code isVisible(element)}, which follows WebDriver's {@code isDisplayed()}: no box, {@code display:none},
+     * {@code visibility:hidden} or zero opacity make an element invisible.
+     */
+    public static final String FUNCTIONS = """
+            function queryAll(using, value) {
+              if (using === 'css selector') {
+                return Array.prototype.slice.call(document.querySelectorAll(value));
+              }
+              var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+              var nodes = [];
+              for (var i = 0; i < snapshot.snapshotLength; i++) {
+                nodes.push(snapshot.snapshotItem(i));
+              }
+              return nodes;
+            }
+            function isVisible(element) {
+              if (element.checkVisibility) {
+                return element.checkVisibility({opacityProperty: true, visibilityProperty: true});
+              }
+              var style = window.getComputedStyle(element);
+              return element.getClientRects().length > 0 && style.visibility !== 'hidden' && style.opacity !== '0';
+            }
+            """;
+
+    private DomScripts() {
+        // utility class
+    }
+
+    /**
+     * Locator parameters {@code queryAll} understands, i.e. those of CSS and XPath based locators.
+     *
+     * @return the parameters, or empty when the locator has to be resolved by WebDriver
+     */
+    public static Optional<By.Remotable.Parameters> queryParameters(By locator) {
+        if (locator instanceof By.Remotable remotable) {
+            By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+            if ("css selector".equals(parameters.using()) || "xpath".equals(parameters.using())) {
+                return Optional.of(parameters);
+            }
+        }
+        return Optional.empty();
+    }
+}
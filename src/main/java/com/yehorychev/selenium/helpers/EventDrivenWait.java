@@ -0,0 +1,141 @@
+package com.yehorychev.selenium.helpers;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Evaluates locator conditions inside the browser with {@code executeAsyncScript} and a
+ * {@code MutationObserver}, resolving as soon as the DOM matches instead of polling over HTTP. Only CSS and
+ * XPath based locators are supported; callers fall back to {@code FluentWait} whenever {@link #await}
+ * returns empty.
+ */
+final class EventDrivenWait {
+
+    enum Condition {
+        VISIBLE,
+        TEXT_EQUALS,
+        COUNT_GREATER_THAN,
+        DISAPPEARED
+    }
+
+    // Keeps each async call well below the default 30s W3C script timeout.
+    private static final Duration MAX_SLICE = Duration.ofSeconds(10);
+
+    private static final String AWAIT_SCRIPT = DomScripts.FUNCTIONS + """
+            var callback = arguments[arguments.length - 1];
+            var using = arguments[0], value = arguments[1], kind = arguments[2], expected = arguments[3];
+            var timeout = arguments[4];
+            function check() {
+              var nodes = queryAll(using, value);
+              switch (kind) {
+                case 'VISIBLE':
+                  return nodes.length > 0 && isVisible(nodes[0]) ? {element: nodes[0]} : null;
+                case 'TEXT_EQUALS':
+                  return nodes.length > 0 && (nodes[0].innerText || nodes[0].textContent || '').trim() === expected
+                      ? {element: nodes[0]} : null;
+                case 'COUNT_GREATER_THAN':
+                  return nodes.length > Number(expected) ? {matched: true} : null;
+                case 'DISAPPEARED':
+                  return nodes.length === 0 || !isVisible(nodes[0]) ? {matched: true} : null;
+              }
+              return null;
+            }
+            var done = false, observer = null, timer = null, ticker = null;
+            function finish(result) {
+              if (done) {
+                return;
+              }
+              done = true;
+              if (observer) { observer.disconnect(); }
+              clearTimeout(timer);
+              clearInterval(ticker);
+              callback(result);
+            }
+            function evaluate() {
+              try {
+                var result = check();
+                if (result) { finish(result); }
+              } catch (e) {
+                finish({error: String(e)});
+              }
+            }
+            evaluate();
+            if (done) {
+              return;
+            }
+            observer = new MutationObserver(evaluate);
+            observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});
+            // style changes that do not touch the DOM (transitions, layout) are caught by a cheap in-page tick
+            ticker = setInterval(evaluate, 100);
+            timer = setTimeout(function () { finish(null); }, timeout);
+            """;
+
+    private final Logger log = LoggerFactory.getLogger(EventDrivenWait.class);
+    private final WebDriver driver;
+    private final boolean enabled;
+    private volatile boolean asyncScriptsSupported = true;
+
+    EventDrivenWait(WebDriver driver, boolean enabled) {
+        this.driver = driver;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Waits in the browser for the condition on the locator.
+     *
+     * @return the matching element for VISIBLE/TEXT_EQUALS, {@code Boolean.TRUE} for the other conditions,
+     * or empty when the locator or driver cannot be handled in event-driven mode
+     * @throws WaitTimeoutException when the condition is not met within the timeout
+     */
+    Optional<Object> await(By locator, Condition condition, Object expected, Duration timeout) {
+        if (!enabled || !asyncScriptsSupported || !(driver instanceof JavascriptExecutor executor)) {
+            return Optional.empty();
+        }
+        Optional<By.Remotable.Parameters> parameters = DomScripts.queryParameters(locator);
+        if (parameters.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String using = parameters.get().using();
+        Object value = parameters.get().value();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new WaitTimeoutException("Timed out waiting for " + condition + " on locator: " + locator);
+            }
+            long sliceMillis = Math.max(1, Math.min(remaining, MAX_SLICE.toNanos()) / 1_000_000);
+            Object result;
+            try {
+                result = executor.executeAsyncScript(AWAIT_SCRIPT, using, value, condition.name(),
+                        expected == null ? null : String.valueOf(expected), sliceMillis);
+            } catch (UnsupportedCommandException e) {
+                log.debug("Driver cannot run async scripts, falling back to polling waits", e);
+                asyncScriptsSupported = false;
+                return Optional.empty();
+            } catch (ScriptTimeoutException | JavascriptException e) {
+                // script timeout lower than the slice, or the document was replaced mid-wait: start a new slice
+                log.debug("Event-driven wait slice for {} interrupted: {}", locator, e.getMessage());
+                continue;
+            }
+
+            if (result instanceof Map<?, ?> outcome) {
+                if (outcome.containsKey("error")) {
+                    log.debug("Event-driven wait for {} failed in page: {}", locator, outcome.get("error"));
+                    return Optional.empty();
+                }
+                return Optional.of(outcome.containsKey("element") ? outcome.get("element") : Boolean.TRUE);
+            }
+        }
+    }
+}
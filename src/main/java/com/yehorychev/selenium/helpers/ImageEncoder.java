@@ -0,0 +1,191 @@
+package com.yehorychev.selenium.helpers;
+
+import com.yehorychev.selenium.config.ConfigProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Encodes decoded screenshots (full-page captures) in the configured format, optionally downscaling them
+ * first. Lossy formats use {@code screenshot.fullpage.quality}; WebP needs an ImageIO WebP plugin on the
+ * classpath and falls back to JPEG without one.
+ */
+final class ImageEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageEncoder.class);
+
+    enum Format {
+        PNG("png", "image/png", false),
+        JPEG("jpg", "image/jpeg", true),
+        WEBP("webp", "image/webp", true);
+
+        private final String extension;
+        private final String mimeType;
+        private final boolean lossy;
+
+        Format(String extension, String mimeType, boolean lossy) {
+            this.extension = extension;
+            this.mimeType = mimeType;
+            this.lossy = lossy;
+        }
+
+        String extension() {
+            return extension;
+        }
+
+        String mimeType() {
+            return mimeType;
+        }
+
+        private String writerName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private ImageEncoder() {
+        // utility class
+    }
+
+    /**
+     * The configured full-page format, or JPEG when WebP is configured but no WebP writer is installed.
+     * Resolved once per JVM.
+     */
+    static Format configuredFormat() {
+        return ConfiguredFormat.INSTANCE;
+    }
+
+    /**
+     * Parses a format name case-insensitively, accepting {@code jpg} for JPEG; unknown names fall back to PNG
+     * with a warning rather than failing every capture.
+     */
+    static Format parseFormat(String value) {
+        String name = value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+        if ("JPG".equals(name)) {
+            return Format.JPEG;
+        }
+        for (Format format : Format.values()) {
+            if (format.name().equals(name)) {
+                return format;
+            }
+        }
+        log.warn("Unknown screenshot.fullpage.format '{}', encoding screenshots as PNG", value);
+        return Format.PNG;
+    }
+
+    /**
+     * Encodes PNG bytes as returned by the browser. They are passed through untouched when PNG is wanted
+     * and no downscale applies; only otherwise are they decoded.
+     */
+    static byte[] encode(byte[] png, Format format) throws IOException {
+        int maxDimension = ConfigProperties.getFullPageScreenshotMaxDimension();
+        if (format == Format.PNG && (maxDimension <= 0 || largestPngSide(png) <= maxDimension)) {
+            return png;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("Screenshot bytes are not a readable image");
+        }
+        return encode(image, format);
+    }
+
+    static byte[] encode(BufferedImage image, Format format) throws IOException {
+        BufferedImage scaled = downscale(image, ConfigProperties.getFullPageScreenshotMaxDimension());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        if (!format.lossy) {
+            ImageIO.write(scaled, format.writerName(), output);
+            return output.toByteArray();
+        }
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format.writerName());
+        if (!writers.hasNext()) {
+            throw new IOException("No ImageIO writer for " + format);
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionType() == null && param.getCompressionTypes().length > 0) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality((float) ConfigProperties.getFullPageScreenshotQuality());
+            }
+            writer.write(null, new IIOImage(withoutAlpha(scaled), null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    // width and height are the first fields of the IHDR chunk, right after the 8-byte signature
+    private static int largestPngSide(byte[] png) {
+        if (png.length < 24) {
+            return Integer.MAX_VALUE;
+        }
+        ByteBuffer header = ByteBuffer.wrap(png, 16, 8);
+        return Math.max(header.getInt(), header.getInt());
+    }
+
+    private static BufferedImage downscale(BufferedImage image, int maxDimension) {
+        int largest = Math.max(image.getWidth(), image.getHeight());
+        if (maxDimension <= 0 || largest <= maxDimension) {
+            return image;
+        }
+        double ratio = (double) maxDimension / largest;
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    // JPEG cannot carry an alpha channel
+    private static BufferedImage withoutAlpha(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.drawImage(image, 0, 0, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    private static final class ConfiguredFormat {
+        private static final Format INSTANCE = resolve();
+
+        private static Format resolve() {
+            Format format = parseFormat(ConfigProperties.getFullPageScreenshotFormat());
+            if (format == Format.WEBP && !ImageIO.getImageWritersByFormatName(format.writerName()).hasNext()) {
+                log.debug("No ImageIO WebP writer available, encoding screenshots as JPEG");
+                return Format.JPEG;
+            }
+            return format;
+        }
+    }
+}
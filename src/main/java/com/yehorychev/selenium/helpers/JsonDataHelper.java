@@ -1,8 +1,11 @@
 package com.yehorychev.selenium.helpers;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.SneakyThrows;
@@ -11,20 +14,40 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Centralized JSON helper backed by a shared ObjectMapper instance. Supports loading test fixtures
  * from classpath resources or absolute paths and writing POJOs back to disk when diagnostics are
- * required.
+ * required. Fixtures read through the {@code readResourceCached} variants are parsed once per JVM
+ * (concurrent first readers wait for the same parse) and handed out as unmodifiable collections.
+ * Only collections are frozen; the elements themselves are shared between parallel tests as they are, so
+ * fixture element types must be immutable (records with copied collections, like the test data records).
  */
 public final class JsonDataHelper {
 
     private static final Logger log = LoggerFactory.getLogger(JsonDataHelper.class);
     private static final ObjectMapper MAPPER = buildMapper();
+    private static final Map<FixtureKey, CompletableFuture<Object>> FIXTURE_CACHE = new ConcurrentHashMap<>();
+    private static final AtomicLong FIXTURE_HITS = new AtomicLong();
+    private static final AtomicLong FIXTURE_MISSES = new AtomicLong();
 
     private JsonDataHelper() {
         // utility class
@@ -46,7 +69,21 @@ public final class JsonDataHelper {
         }
     }
 
+    /**
+     * Reads a generic fixture. List-typed fixtures are decoded from their precompiled binary form
+     * ({@link BinaryFixtures}) when one is on the classpath and still matches the JSON; otherwise the JSON
+     * is parsed.
+     */
+    @SuppressWarnings("unchecked")
     public static <T> T readResource(String resourcePath, TypeReference<T> typeReference) {
+        JavaType type = MAPPER.constructType(typeReference);
+        if (isListType(type)) {
+            Optional<BinaryFixtures.Fixture> binary = BinaryFixtures.forResource(resourcePath);
+            if (binary.isPresent()) {
+                log.debug("Reading binary fixture {} into generic type", resourcePath);
+                return (T) binary.get().elements(type.getContentType());
+            }
+        }
         log.debug("Reading JSON resource {} into generic type", resourcePath);
         try (InputStream inputStream = getResourceAsStream(resourcePath)) {
             return MAPPER.readValue(inputStream, typeReference);
@@ -55,6 +92,56 @@ public final class JsonDataHelper {
         }
     }
 
+    public static <T> T readResourceCached(String resourcePath, Class<T> targetClass) {
+        return targetClass.cast(cached(new FixtureKey(resourcePath, targetClass),
+                () -> readResource(resourcePath, targetClass)));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T readResourceCached(String resourcePath, TypeReference<T> typeReference) {
+        return (T) cached(new FixtureKey(resourcePath, typeReference.getType()),
+                () -> readResource(resourcePath, typeReference));
+    }
+
+    /**
+     * Streams the elements of a top-level JSON array one at a time, each wrapped as a single-argument
+     * {@code Object[]}, so the result can be returned directly from a {@code @DataProvider}. Only the current
+     * element is held in memory and the first test can start before the file is fully read. The resource is
+     * closed once the array is exhausted or reading fails.
+     */
+    public static <T> Iterator<Object[]> streamResource(String resourcePath, Class<T> elementClass) {
+        return streamResource(resourcePath, MAPPER.constructType(elementClass));
+    }
+
+    public static <T> Iterator<Object[]> streamResource(String resourcePath, TypeReference<T> elementType) {
+        return streamResource(resourcePath, MAPPER.constructType(elementType));
+    }
+
+    private static Iterator<Object[]> streamResource(String resourcePath, JavaType elementType) {
+        Optional<BinaryFixtures.Fixture> binary = BinaryFixtures.forResource(resourcePath);
+        if (binary.isPresent()) {
+            log.debug("Streaming binary fixture {} as {}", resourcePath, elementType);
+            return binary.get().iterator(elementType);
+        }
+        log.debug("Streaming JSON array resource {} as {}", resourcePath, elementType);
+        InputStream inputStream = getResourceAsStream(resourcePath);
+        try {
+            JsonParser parser = MAPPER.getFactory().createParser(inputStream);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new IllegalStateException("Expected a top-level JSON array in resource: " + resourcePath);
+            }
+            return new ArrayElementIterator(parser, elementType, resourcePath);
+        } catch (IOException e) {
+            closeQuietly(inputStream);
+            throw new IllegalStateException("Failed to read JSON resource: " + resourcePath, e);
+        }
+    }
+
+    public static FixtureCacheStats fixtureCacheStats() {
+        return new FixtureCacheStats(FIXTURE_HITS.get(), FIXTURE_MISSES.get(), FIXTURE_CACHE.size());
+    }
+
     public static <T> T readFile(Path path, Class<T> targetClass) {
         log.debug("Reading JSON file {} into {}", path, targetClass.getSimpleName());
         try {
@@ -95,6 +182,62 @@ public final class JsonDataHelper {
         return readResource(resourcePath, new TypeReference<>() {});
     }
 
+    private static Object cached(FixtureKey key, Supplier<Object> parser) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = FIXTURE_CACHE.putIfAbsent(key, created);
+        if (existing != null) {
+            FIXTURE_HITS.incrementAndGet();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        FIXTURE_MISSES.incrementAndGet();
+        try {
+            Object value = freeze(parser.get());
+            created.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            // let a later call retry instead of caching the failure
+            FIXTURE_CACHE.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Object freeze(Object value) {
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(item -> copy.add(freeze(item)));
+            return Collections.unmodifiableList(copy);
+        }
+        if (value instanceof Set<?> set) {
+            Set<Object> copy = new LinkedHashSet<>();
+            set.forEach(item -> copy.add(freeze(item)));
+            return Collections.unmodifiableSet(copy);
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            map.forEach((key, item) -> copy.put(key, freeze(item)));
+            return Collections.unmodifiableMap(copy);
+        }
+        return value;
+    }
+
+    private static boolean isListType(JavaType type) {
+        return type.isCollectionLikeType() && type.getRawClass().isAssignableFrom(ArrayList.class);
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException ignored) {
+            // nothing left to release
+        }
+    }
+
     @SneakyThrows
     private static InputStream getResourceAsStream(String resourcePath) {
         InputStream inputStream = JsonDataHelper.class.getClassLoader().getResourceAsStream(resourcePath);
@@ -103,4 +246,68 @@ public final class JsonDataHelper {
         }
         return inputStream;
     }
+
+    public record FixtureCacheStats(long hits, long misses, int entries) {
+    }
+
+    private record FixtureKey(String resourcePath, Type type) {
+    }
+
+    private static final class ArrayElementIterator implements Iterator<Object[]> {
+        private final JsonParser parser;
+        private final JavaType elementType;
+        private final String resourcePath;
+        private boolean advanced;
+        private boolean finished;
+
+        private ArrayElementIterator(JsonParser parser, JavaType elementType, String resourcePath) {
+            this.parser = parser;
+            this.elementType = elementType;
+            this.resourcePath = resourcePath;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!advanced && !finished) {
+                try {
+                    JsonToken token = parser.nextToken();
+                    if (token == null || token == JsonToken.END_ARRAY) {
+                        finished = true;
+                        parser.close();
+                    } else {
+                        advanced = true;
+                    }
+                } catch (IOException e) {
+                    finish();
+                    throw new IllegalStateException("Failed to read JSON resource: " + resourcePath, e);
+                }
+            }
+            return advanced;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            advanced = false;
+            try {
+                return new Object[]{MAPPER.readValue(parser, elementType)};
+            } catch (IOException e) {
+                finish();
+                throw new IllegalStateException("Failed to read JSON resource: " + resourcePath, e);
+            }
+        }
+
+        // closing the parser also closes the resource stream it owns
+        private void finish() {
+            finished = true;
+            advanced = false;
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // nothing left to release
+            }
+        }
+    }
 }
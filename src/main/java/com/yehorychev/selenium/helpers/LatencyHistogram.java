@@ -0,0 +1,110 @@
+package com.yehorychev.selenium.helpers;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with fixed millisecond buckets. Percentiles are estimated from the bucket
+ * boundaries (capped at the observed maximum), which is precise enough to rank slow operations and size
+ * agents while keeping recording cheap on hot paths.
+ */
+public final class LatencyHistogram {
+
+    private static final long[] BUCKET_BOUNDS_MILLIS = {
+            1, 2, 5, 10, 25, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 30_000, 60_000
+    };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(Duration duration) {
+        recordNanos(duration.toNanos());
+    }
+
+    public void recordNanos(long nanos) {
+        long value = Math.max(0, nanos);
+        double millis = value / 1_000_000.0;
+        int index = 0;
+        while (index < BUCKET_BOUNDS_MILLIS.length && millis > BUCKET_BOUNDS_MILLIS[index]) {
+            index++;
+        }
+        buckets.incrementAndGet(index);
+        count.incrementAndGet();
+        totalNanos.addAndGet(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Adds everything recorded here to {@code target}, e.g. to aggregate per-test series.
+     */
+    public void mergeInto(LatencyHistogram target) {
+        for (int i = 0; i < buckets.length(); i++) {
+            target.buckets.addAndGet(i, buckets.get(i));
+        }
+        target.count.addAndGet(count.get());
+        target.totalNanos.addAndGet(totalNanos.get());
+        target.maxNanos.accumulateAndGet(maxNanos.get(), Math::max);
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    public double totalMillis() {
+        return totalNanos.get() / 1_000_000.0;
+    }
+
+    public double maxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Estimates the given percentile (0-100) as the upper bound of the bucket holding that rank.
+     */
+    public double percentileMillis(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= Math.max(1, rank)) {
+                double bound = i < BUCKET_BOUNDS_MILLIS.length ? BUCKET_BOUNDS_MILLIS[i] : Double.MAX_VALUE;
+                return Math.min(bound, maxMillis());
+            }
+        }
+        return maxMillis();
+    }
+
+    /**
+     * Upper bounds of the finite buckets in milliseconds; the last bucket is open-ended.
+     */
+    public static long[] bucketBoundsMillis() {
+        return BUCKET_BOUNDS_MILLIS.clone();
+    }
+
+    /**
+     * Cumulative counts per bucket, Prometheus style. The last element equals {@link #count()}.
+     */
+    public long[] cumulativeCounts() {
+        long[] cumulative = new long[buckets.length()];
+        long running = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            running += buckets.get(i);
+            cumulative[i] = running;
+        }
+        return cumulative;
+    }
+
+    public Summary summary() {
+        return new Summary(count(), percentileMillis(50), percentileMillis(95), maxMillis(), totalMillis());
+    }
+
+    public record Summary(long count, double p50Millis, double p95Millis, double maxMillis, double totalMillis) {
+    }
+}
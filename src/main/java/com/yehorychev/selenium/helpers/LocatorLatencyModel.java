@@ -0,0 +1,118 @@
+package com.yehorychev.selenium.helpers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.yehorychev.selenium.config.ConfigProperties;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Learns how long each locator typically takes to satisfy a wait (exponentially weighted moving average)
+ * and turns that into an adaptive polling schedule: tight polls first, exponential back-off, and a jump
+ * close to the expected ready time for locators seen before. The model can be persisted so the next run
+ * starts warm.
+ */
+public final class LocatorLatencyModel {
+
+    private static final Logger log = LoggerFactory.getLogger(LocatorLatencyModel.class);
+    private static final double SMOOTHING = 0.3;
+    private static final double JUMP_FRACTION = 0.75;
+    private static final long INITIAL_POLL_MILLIS = 25;
+
+    private final Map<String, LocatorStats> stats = new ConcurrentHashMap<>();
+
+    private LocatorLatencyModel() {
+    }
+
+    /**
+     * JVM-wide model, warmed from {@code wait.adaptive.stats.file} on first use.
+     */
+    public static LocatorLatencyModel shared() {
+        return Holder.INSTANCE;
+    }
+
+    public static LocatorLatencyModel load(Path file) {
+        LocatorLatencyModel model = new LocatorLatencyModel();
+        if (file != null && Files.isRegularFile(file)) {
+            try {
+                model.stats.putAll(JsonDataHelper.readFile(file, new TypeReference<Map<String, LocatorStats>>() {}));
+                log.debug("Loaded latency statistics for {} locators from {}", model.stats.size(), file);
+            } catch (IllegalStateException e) {
+                log.warn("Ignoring unreadable locator latency file {}", file, e);
+            }
+        }
+        return model;
+    }
+
+    public void persist(Path file) {
+        JsonDataHelper.writeFile(file, new TreeMap<>(stats));
+    }
+
+    public static String key(By locator, String kind) {
+        return kind + ":" + locator;
+    }
+
+    public void record(String key, Duration timeToReady) {
+        double millis = timeToReady.toNanos() / 1_000_000.0;
+        stats.merge(key, new LocatorStats(millis, 1), (current, ignored) -> new LocatorStats(
+                current.ewmaMillis() + SMOOTHING * (millis - current.ewmaMillis()), current.samples() + 1));
+    }
+
+    public double expectedMillis(String key) {
+        LocatorStats current = stats.get(key);
+        return current != null ? current.ewmaMillis() : 0;
+    }
+
+    /**
+     * Creates a sleeper for one wait. The interval FluentWait passes in is ignored in favour of the
+     * adaptive schedule: back-off polls are capped at {@code maxInterval} and no sleep runs past the timeout.
+     */
+    public Sleeper sleeperFor(String key, Duration maxInterval, Duration timeout) {
+        return new AdaptiveSleeper(expectedMillis(key), Math.max(INITIAL_POLL_MILLIS, maxInterval.toMillis()),
+                timeout.toMillis());
+    }
+
+    public record LocatorStats(double ewmaMillis, long samples) {
+    }
+
+    private static final class Holder {
+        private static final LocatorLatencyModel INSTANCE = load(ConfigProperties.getLocatorLatencyFile());
+    }
+
+    private static final class AdaptiveSleeper implements Sleeper {
+        private final long startNanos = System.nanoTime();
+        private final long jumpToMillis;
+        private final long maxIntervalMillis;
+        private final long timeoutMillis;
+        private boolean jumped;
+        private long nextPollMillis = INITIAL_POLL_MILLIS;
+
+        private AdaptiveSleeper(double expectedMillis, long maxIntervalMillis, long timeoutMillis) {
+            this.jumpToMillis = (long) (expectedMillis * JUMP_FRACTION);
+            this.maxIntervalMillis = maxIntervalMillis;
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        @Override
+        public void sleep(Duration ignored) throws InterruptedException {
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            long delay;
+            if (!jumped && elapsedMillis + INITIAL_POLL_MILLIS < jumpToMillis) {
+                jumped = true;
+                delay = jumpToMillis - elapsedMillis;
+            } else {
+                delay = nextPollMillis;
+                nextPollMillis = Math.min(maxIntervalMillis, nextPollMillis * 2);
+            }
+            Thread.sleep(Math.max(1, Math.min(delay, timeoutMillis - elapsedMillis)));
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.yehorychev.selenium.helpers;
+
+import org.openqa.selenium.By;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-to-satisfy histograms for locator waits, one series per page object, test, wait kind and locator.
+ * The page object is the closest {@code pages} class on the calling stack; the test is taken from the
+ * running TestNG result. Series are exported at the end of the suite as JSON (with the worst locators
+ * ranked by p95 and by total time) and in the Prometheus text format.
+ */
+public final class LocatorMetrics {
+
+    private static final String PAGES_PACKAGE = "com.yehorychev.selenium.pages.";
+    private static final String COMMON_PAGES_PACKAGE = PAGES_PACKAGE + "common.";
+    private static final String NONE = "none";
+    private static final int RANKING_SIZE = 20;
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final Map<SeriesKey, Series> SERIES = new ConcurrentHashMap<>();
+
+    private LocatorMetrics() {
+        // utility class
+    }
+
+    /**
+     * Records one wait. Timed out waits are recorded too, so the export reflects the time they consumed.
+     */
+    public static void record(By locator, String kind, long nanos, boolean timedOut) {
+        SeriesKey key = new SeriesKey(callingPageObject(), currentTest(), kind, String.valueOf(locator));
+        Series series = SERIES.computeIfAbsent(key, ignored -> new Series());
+        series.histogram.recordNanos(nanos);
+        if (timedOut) {
+            series.timeouts.incrementAndGet();
+        }
+    }
+
+    /**
+     * Writes every series plus the worst locators (aggregated over tests) ranked by p95 and by total time.
+     */
+    public static void writeJson(Path destination) {
+        List<Map<String, Object>> series = new ArrayList<>();
+        Map<SeriesKey, Aggregate> perLocator = new LinkedHashMap<>();
+        SERIES.forEach((key, value) -> {
+            series.add(describe(key, value.histogram.summary(), value.timeouts.get()));
+            perLocator.computeIfAbsent(new SeriesKey(key.pageObject(), NONE, key.kind(), key.locator()),
+                    ignored -> new Aggregate()).add(value);
+        });
+        series.sort(Comparator.comparing((Map<String, Object> entry) -> (Double) entry.get("p95Millis")).reversed());
+
+        List<Map<String, Object>> aggregated = new ArrayList<>();
+        perLocator.forEach((key, aggregate) -> {
+            Map<String, Object> entry = describe(key, aggregate.histogram.summary(), aggregate.timeouts);
+            entry.remove("test");
+            aggregated.add(entry);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("worstByP95", top(aggregated, "p95Millis"));
+        report.put("worstByTotal", top(aggregated, "totalMillis"));
+        report.put("series", series);
+        JsonDataHelper.writeFile(destination, report);
+    }
+
+    /**
+     * Writes the histograms as {@code selenium_locator_wait_seconds} in the Prometheus text exposition format.
+     */
+    public static void writePrometheus(Path destination) {
+        long[] bounds = LatencyHistogram.bucketBoundsMillis();
+        StringBuilder out = new StringBuilder()
+                .append("# HELP selenium_locator_wait_seconds Time until a locator wait was satisfied or timed out.\n")
+                .append("# TYPE selenium_locator_wait_seconds histogram\n");
+        StringBuilder timeouts = new StringBuilder()
+                .append("# HELP selenium_locator_wait_timeouts_total Locator waits that timed out.\n")
+                .append("# TYPE selenium_locator_wait_timeouts_total counter\n");
+        SERIES.forEach((key, series) -> {
+            String labels = labels(key);
+            long[] cumulative = series.histogram.cumulativeCounts();
+            for (int i = 0; i < cumulative.length; i++) {
+                String le = i < bounds.length ? seconds(bounds[i]) : "+Inf";
+                out.append("selenium_locator_wait_seconds_bucket{").append(labels)
+                        .append(",le=\"").append(le).append("\"} ").append(cumulative[i]).append('\n');
+            }
+            out.append("selenium_locator_wait_seconds_sum{").append(labels).append("} ")
+                    .append(String.format(Locale.ROOT, "%.6f", series.histogram.totalMillis() / 1000.0)).append('\n');
+            out.append("selenium_locator_wait_seconds_count{").append(labels).append("} ")
+                    .append(series.histogram.count()).append('\n');
+            timeouts.append("selenium_locator_wait_timeouts_total{").append(labels).append("} ")
+                    .append(series.timeouts.get()).append('\n');
+        });
+        try {
+            Files.createDirectories(destination.toAbsolutePath().getParent());
+            Files.writeString(destination, out.append(timeouts), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write locator metrics: " + destination, e);
+        }
+    }
+
+    /**
+     * Closest concrete page object on the stack. Frames from {@code pages.common} ({@code BasePage},
+     * {@code TableReader}, ...) are skipped, since every lookup passes through them.
+     */
+    private static String callingPageObject() {
+        return STACK_WALKER.walk(frames -> frames
+                .map(StackWalker.StackFrame::getClassName)
+                .filter(className -> className.startsWith(PAGES_PACKAGE))
+                .filter(className -> !className.startsWith(COMMON_PAGES_PACKAGE))
+                .findFirst()
+                .map(className -> className.substring(className.lastIndexOf('.') + 1))
+                .map(simpleName -> simpleName.contains("$") ? simpleName.substring(0, simpleName.indexOf('$')) : simpleName)
+                .orElse(NONE));
+    }
+
+    /**
+     * {@code Class.method} of the TestNG test running on this thread, or {@code none}.
+     */
+    static String currentTest() {
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result == null) {
+            return NONE;
+        }
+        return result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+    }
+
+    private static Map<String, Object> describe(SeriesKey key, LatencyHistogram.Summary summary, long timeouts) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("pageObject", key.pageObject());
+        entry.put("test", key.test());
+        entry.put("kind", key.kind());
+        entry.put("locator", key.locator());
+        entry.put("count", summary.count());
+        entry.put("timeouts", timeouts);
+        entry.put("p50Millis", summary.p50Millis());
+        entry.put("p95Millis", summary.p95Millis());
+        entry.put("maxMillis", summary.maxMillis());
+        entry.put("totalMillis", summary.totalMillis());
+        return entry;
+    }
+
+    private static List<Map<String, Object>> top(List<Map<String, Object>> entries, String field) {
+        return entries.stream()
+                .sorted(Comparator.comparing((Map<String, Object> entry) -> (Double) entry.get(field)).reversed())
+                .limit(RANKING_SIZE)
+                .toList();
+    }
+
+    private static String labels(SeriesKey key) {
+        return "page=\"" + escape(key.pageObject()) + "\",test=\"" + escape(key.test())
+                + "\",kind=\"" + escape(key.kind()) + "\",locator=\"" + escape(key.locator()) + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f", millis / 1000.0);
+    }
+
+    private record SeriesKey(String pageObject, String test, String kind, String locator) {
+    }
+
+    private static final class Series {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final AtomicLong timeouts = new AtomicLong();
+    }
+
+    private static final class Aggregate {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private long timeouts;
+
+        private void add(Series series) {
+            series.histogram.mergeInto(histogram);
+            timeouts += series.timeouts.get();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.yehorychev.selenium.helpers;
+
+import com.yehorychev.selenium.config.ConfigProperties;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.Script;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Maintains {@code window.___fetchInFlight}, the number of fetch/XHR requests currently in flight, which
+ * {@link WaitHelper#waitForAjaxComplete()} relies on. The tracker is registered to run before any page
+ * script on every new document: via CDP on Chromium, via a WebDriver BiDi preload script where BiDi is
+ * enabled (Firefox). Drivers offering neither get it injected into the current page on demand.
+ */
+public final class NetworkActivityTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkActivityTracker.class);
+
+    private static final String TRACKER_FUNCTION = """
+            function () {
+              if (window.___networkTrackerInstalled) {
+                return;
+              }
+              window.___networkTrackerInstalled = true;
+              window.___fetchInFlight = window.___fetchInFlight || 0;
+              var begin = function () { window.___fetchInFlight++; };
+              var end = function () { window.___fetchInFlight = Math.max(0, window.___fetchInFlight - 1); };
+              if (window.fetch) {
+                var originalFetch = window.fetch;
+                window.fetch = function () {
+                  begin();
+                  try {
+                    return originalFetch.apply(this, arguments).finally(end);
+                  } catch (e) {
+                    end();
+                    throw e;
+                  }
+                };
+              }
+              if (window.XMLHttpRequest) {
+                var originalSend = XMLHttpRequest.prototype.send;
+                XMLHttpRequest.prototype.send = function () {
+                  var done = false;
+                  var finish = function () {
+                    if (!done) {
+                      done = true;
+                      end();
+                    }
+                  };
+                  this.addEventListener('loadend', finish);
+                  begin();
+                  try {
+                    return originalSend.apply(this, arguments);
+                  } catch (e) {
+                    finish();
+                    throw e;
+                  }
+                };
+              }
+            }""";
+
+    private static final String INSTALL_SCRIPT = "(" + TRACKER_FUNCTION + ")();";
+
+    public enum Strategy {
+        CDP,
+        BIDI,
+        ON_DEMAND
+    }
+
+    private NetworkActivityTracker() {
+        // utility class
+    }
+
+    /**
+     * Registers the tracker for every document the driver loads from now on, unless
+     * {@code wait.network.tracker.preload.enabled} is off.
+     *
+     * @return how the tracker was registered
+     */
+    public static Strategy install(WebDriver driver) {
+        if (!ConfigProperties.isNetworkTrackerPreloadEnabled()) {
+            return Strategy.ON_DEMAND;
+        }
+        if (driver instanceof HasCdp cdp) {
+            try {
+                cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", INSTALL_SCRIPT));
+                return Strategy.CDP;
+            } catch (RuntimeException e) {
+                log.debug("CDP preload of network tracker failed", e);
+            }
+        }
+        if (driver instanceof HasBiDi bidi && bidi.maybeGetBiDi().isPresent()) {
+            // the preload script outlives the module handle, which only holds event subscriptions
+            try (Script script = new Script(driver)) {
+                script.addPreloadScript(TRACKER_FUNCTION);
+                return Strategy.BIDI;
+            } catch (RuntimeException e) {
+                log.debug("BiDi preload of network tracker failed", e);
+            }
+        }
+        return Strategy.ON_DEMAND;
+    }
+
+    /**
+     * Installs the tracker into the current document unless a preload already did. Requests started
+     * before this call are not counted.
+     */
+    public static void ensureInstalled(JavascriptExecutor executor) {
+        executor.executeScript(INSTALL_SCRIPT);
+    }
+
+    static String installScript() {
+        return INSTALL_SCRIPT;
+    }
+}
@@ -0,0 +1,143 @@
+package com.yehorychev.selenium.helpers;
+
+import com.yehorychev.selenium.config.ConfigProperties;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams captured page sources into the artifact store as gzip, chunk by chunk, so neither the encoded source
+ * nor its compressed copy is ever materialised as one byte array. Sources larger than
+ * {@code page.source.max.kilobytes} (uncompressed) are cut at a character boundary and end with a truncation
+ * marker. Sources up to {@code page.source.inline.kilobytes} additionally get a plain HTML preview, decompressed
+ * from the stored copy, so Allure can show them inline. Full source and stored sizes are accumulated to report
+ * the bytes saved per run.
+ */
+public final class PageSourceArchiver {
+
+    public static final String EXTENSION = "html.gz";
+    public static final String MIME_TYPE = "application/gzip";
+
+    private static final int CHUNK_CHARS = 8192;
+    private static final AtomicLong CAPTURES = new AtomicLong();
+    private static final AtomicLong TRUNCATED = new AtomicLong();
+    private static final AtomicLong RAW_BYTES = new AtomicLong();
+    private static final AtomicLong STORED_BYTES = new AtomicLong();
+
+    private PageSourceArchiver() {
+        // utility class
+    }
+
+    /**
+     * Whether the source is small enough (and within the size cap) to get an inline HTML preview.
+     */
+    public static boolean fitsInline(String pageSource) {
+        long inlineBytes = ConfigProperties.getPageSourceInlineKilobytes() * 1024;
+        long maxBytes = ConfigProperties.getPageSourceMaxKilobytes() * 1024;
+        long length = utf8Length(pageSource);
+        return length <= inlineBytes && (maxBytes <= 0 || length <= maxBytes);
+    }
+
+    /**
+     * Writes the source gzipped to {@code out}, truncated at {@code page.source.max.kilobytes}.
+     */
+    public static void write(String pageSource, OutputStream out) throws IOException {
+        write(pageSource, out, ConfigProperties.getPageSourceMaxKilobytes() * 1024);
+    }
+
+    static void write(String pageSource, OutputStream out, long maxBytes) throws IOException {
+        CountingOutputStream compressed = new CountingOutputStream(out);
+        long written = 0;
+        boolean truncated = false;
+        GZIPOutputStream gzip = new GZIPOutputStream(compressed, CHUNK_CHARS);
+        for (int start = 0; start < pageSource.length() && !truncated; start += CHUNK_CHARS) {
+            String chunk = pageSource.substring(start, Math.min(pageSource.length(), start + CHUNK_CHARS));
+            byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+            int length = bytes.length;
+            if (maxBytes > 0 && written + length > maxBytes) {
+                length = utf8Boundary(bytes, (int) (maxBytes - written));
+                truncated = true;
+            }
+            gzip.write(bytes, 0, length);
+            written += length;
+        }
+        if (truncated) {
+            String marker = "\n<!-- page source truncated after " + written + " bytes, full source had "
+                    + pageSource.length() + " characters -->\n";
+            gzip.write(marker.getBytes(StandardCharsets.UTF_8));
+            TRUNCATED.incrementAndGet();
+        }
+        // the caller owns the stream, so finish the gzip trailer without closing it
+        gzip.finish();
+        // count the whole source, not just the part kept, so truncation shows up as saved bytes too
+        record(truncated ? utf8Length(pageSource) : written, compressed.count);
+    }
+
+    public static Stats stats() {
+        long raw = RAW_BYTES.get();
+        long stored = STORED_BYTES.get();
+        return new Stats(CAPTURES.get(), TRUNCATED.get(), raw, stored, Math.max(0, raw - stored));
+    }
+
+    private static void record(long rawBytes, long storedBytes) {
+        CAPTURES.incrementAndGet();
+        RAW_BYTES.addAndGet(rawBytes);
+        STORED_BYTES.addAndGet(storedBytes);
+    }
+
+    // UTF-8 size without encoding the string
+    private static long utf8Length(String value) {
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    // never cut inside a multi-byte UTF-8 sequence
+    private static int utf8Boundary(byte[] bytes, int limit) {
+        int cut = Math.max(0, Math.min(limit, bytes.length));
+        while (cut > 0 && cut < bytes.length && (bytes[cut] & 0xC0) == 0x80) {
+            cut--;
+        }
+        return cut;
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    public record Stats(long captures, long truncated, long rawBytes, long storedBytes, long bytesSaved) {
+    }
+}
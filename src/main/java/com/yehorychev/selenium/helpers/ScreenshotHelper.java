@@ -5,56 +5,163 @@ import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.firefox.HasFullPageScreenshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import ru.yandex.qatools.ashot.AShot;
 import ru.yandex.qatools.ashot.coordinates.WebDriverCoordsProvider;
 import ru.yandex.qatools.ashot.shooting.ShootingStrategies;
 
-import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public final class ScreenshotHelper {
 
+    /**
+     * How a full-page screenshot was taken, in order of preference.
+     */
+    public enum Strategy {
+        CDP,
+        FIREFOX_NATIVE,
+        ASHOT,
+        VIEWPORT
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ScreenshotHelper.class);
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+    private static final Map<Strategy, LatencyHistogram> CAPTURE_TIMES = new EnumMap<>(Strategy.class);
+
+    static {
+        for (Strategy strategy : Strategy.values()) {
+            CAPTURE_TIMES.put(strategy, new LatencyHistogram());
+        }
+    }
 
     private ScreenshotHelper() {
         // utility class
     }
 
+    /**
+     * Captures a screenshot into {@code screenshot.directory}.
+     *
+     * @see #capture(WebDriver, String, Path)
+     */
     public static Path capture(WebDriver driver, String testName) {
         return capture(driver, testName, ConfigProperties.getScreenshotDirectory());
     }
 
+    /**
+     * Captures a screenshot into the {@link ArtifactStore}, where identical captures share one blob, and exposes
+     * it in {@code directory} as {@code <timestamp>-<test>.<ext>} (a hard link to the blob where possible).
+     *
+     * @return the named file in {@code directory}
+     */
     public static Path capture(WebDriver driver, String testName, Path directory) {
         if (driver == null) {
             throw new IllegalArgumentException("WebDriver must not be null when capturing a screenshot");
         }
 
         try {
-            Files.createDirectories(directory);
-            String timestamp = LocalDateTime.now().format(FORMATTER);
-            String safeName = testName.replaceAll("[^a-zA-Z0-9_-]", "_");
-            Path destination = directory.resolve(timestamp + "-" + safeName + ".png");
+            if (!ConfigProperties.isFullPageScreenshotsEnabled()) {
+                // the driver already returns PNG, store it as is
+                return storeAs(takeViewportPng(driver), "png", directory.resolve(attachmentName(testName, "png")));
+            }
 
-            BufferedImage image = ConfigProperties.isFullPageScreenshotsEnabled()
-                    ? takeFullPageScreenshot(driver)
-                    : takeViewportScreenshot(driver);
-
-            ImageIO.write(image, "png", destination.toFile());
-            return destination;
+            ImageEncoder.Format format = ImageEncoder.configuredFormat();
+            return storeAs(takeFullPageScreenshot(driver).encode(format), format.extension(),
+                    directory.resolve(attachmentName(testName, format.extension())));
         } catch (IOException e) {
             throw new RuntimeException("Failed to capture screenshot for test: " + testName, e);
         }
     }
 
-    private static BufferedImage takeFullPageScreenshot(WebDriver driver) {
+    /**
+     * Grabs the screenshot on the calling thread and hands encoding, writing and the Allure attachment to
+     * the {@link ArtifactPipeline}. Viewport screenshots are passed on as the PNG bytes the driver returned;
+     * full-page captures are encoded in the configured format. Pipeline statistics are kept under
+     * {@code testName}.
+     */
+    public static CompletableFuture<Path> captureAsync(WebDriver driver, String testName) {
+        if (driver == null) {
+            throw new IllegalArgumentException("WebDriver must not be null when capturing a screenshot");
+        }
+        if (!ConfigProperties.isFullPageScreenshotsEnabled()) {
+            byte[] pngBytes = takeViewportPng(driver);
+            return ArtifactPipeline.shared().submit(testName, attachmentName(testName, "png"), "image/png", "png",
+                    () -> pngBytes);
+        }
+
+        FullPageCapture capture = takeFullPageScreenshot(driver);
+        ImageEncoder.Format format = ImageEncoder.configuredFormat();
+        return ArtifactPipeline.shared().submit(testName, attachmentName(testName, format.extension()),
+                format.mimeType(), format.extension(), () -> capture.encode(format));
+    }
+
+    /**
+     * Reads the page source on the calling thread and has the {@link ArtifactPipeline} stream it gzipped into the
+     * store. Sources within {@code page.source.inline.kilobytes} also get an HTML preview decompressed from the
+     * stored copy.
+     */
+    public static CompletableFuture<Path> capturePageSourceAsync(WebDriver driver, String testName) {
+        if (driver == null) {
+            throw new IllegalArgumentException("WebDriver must not be null when capturing page source");
+        }
+        String pageSource = driver.getPageSource();
+        ArtifactPipeline pipeline = ArtifactPipeline.shared();
+        CompletableFuture<Path> stored = pipeline.submitStreamed(testName,
+                attachmentName(testName, PageSourceArchiver.EXTENSION), PageSourceArchiver.MIME_TYPE,
+                PageSourceArchiver.EXTENSION, out -> PageSourceArchiver.write(pageSource, out));
+        if (PageSourceArchiver.fitsInline(pageSource)) {
+            pipeline.attachDecompressed(testName, attachmentName(testName, "html"), "text/html", "html", stored);
+        }
+        return stored;
+    }
+
+    private static String attachmentName(String testName, String extension) {
+        String timestamp = LocalDateTime.now().format(FORMATTER);
+        String safeName = testName.replaceAll("[^a-zA-Z0-9_-]", "_");
+        return timestamp + "-" + safeName + "." + extension;
+    }
+
+    /**
+     * Capture time histograms per full-page strategy; only successful captures are recorded.
+     */
+    public static Map<Strategy, LatencyHistogram> captureTimes() {
+        return Collections.unmodifiableMap(CAPTURE_TIMES);
+    }
+
+    /**
+     * Single-shot capture through CDP on Chromium or the native full-page command on Firefox; AShot
+     * scroll-and-stitch only when neither is available, and a plain viewport capture as the last resort.
+     */
+    private static FullPageCapture takeFullPageScreenshot(WebDriver driver) {
+        if (driver instanceof HasCdp cdp) {
+            try {
+                return timed(Strategy.CDP, () -> FullPageCapture.png(captureWithCdp(cdp)));
+            } catch (RuntimeException e) {
+                log.debug("CDP full-page screenshot failed, trying the next strategy", e);
+            }
+        }
+        if (driver instanceof HasFullPageScreenshot firefox) {
+            try {
+                return timed(Strategy.FIREFOX_NATIVE,
+                        () -> FullPageCapture.png(firefox.getFullPageScreenshotAs(OutputType.BYTES)));
+            } catch (RuntimeException e) {
+                log.debug("Firefox full-page screenshot failed, trying the next strategy", e);
+            }
+        }
         try {
-            return new AShot()
+            return timed(Strategy.ASHOT, () -> FullPageCapture.image(new AShot()
                     .coordsProvider(new WebDriverCoordsProvider())
                     .shootingStrategy(ShootingStrategies.viewportRetina(
                             (int) ConfigProperties.getFullPageScrollTimeoutMillis(),
@@ -63,40 +170,93 @@ public final class ScreenshotHelper {
                             (float) ConfigProperties.getFullPageDevicePixelRatio()
                     ))
                     .takeScreenshot(driver)
-                    .getImage();
+                    .getImage()));
         } catch (RuntimeException e) {
             // fallback to regular screenshot if AShot fails
-            return takeViewportScreenshot(driver);
+            return timed(Strategy.VIEWPORT, () -> FullPageCapture.png(takeViewportPng(driver)));
         }
     }
 
-    private static BufferedImage takeViewportScreenshot(WebDriver driver) {
+    private static byte[] captureWithCdp(HasCdp cdp) {
+        Map<String, Object> metrics = cdp.executeCdpCommand("Page.getLayoutMetrics", Map.of());
+        Map<?, ?> contentSize = (Map<?, ?>) metrics.getOrDefault("cssContentSize", metrics.get("contentSize"));
+        Map<String, Object> clip = Map.of(
+                "x", 0,
+                "y", 0,
+                "width", ((Number) contentSize.get("width")).doubleValue(),
+                "height", ((Number) contentSize.get("height")).doubleValue(),
+                "scale", 1);
+        Map<String, Object> screenshot = cdp.executeCdpCommand("Page.captureScreenshot", Map.of(
+                "format", "png",
+                "captureBeyondViewport", true,
+                "clip", clip));
+        return Base64.getDecoder().decode((String) screenshot.get("data"));
+    }
+
+    private static FullPageCapture timed(Strategy strategy, Supplier<FullPageCapture> capture) {
+        long start = System.nanoTime();
+        FullPageCapture result = capture.get();
+        CAPTURE_TIMES.get(strategy).recordNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    private static byte[] takeViewportPng(WebDriver driver) {
         if (!(driver instanceof TakesScreenshot takesScreenshot)) {
             throw new IllegalStateException("Provided WebDriver does not support screenshots");
         }
 
         try {
-            byte[] pngBytes = takesScreenshot.getScreenshotAs(OutputType.BYTES);
-            return ImageIO.read(new ByteArrayInputStream(pngBytes));
-        } catch (WebDriverException | IOException e) {
+            return takesScreenshot.getScreenshotAs(OutputType.BYTES);
+        } catch (WebDriverException e) {
             throw new RuntimeException("Failed to capture viewport screenshot", e);
         }
     }
 
+    /**
+     * A full-page capture as the PNG bytes the browser returned, or as an image stitched in memory.
+     */
+    private record FullPageCapture(byte[] png, BufferedImage image) {
+
+        static FullPageCapture png(byte[] png) {
+            return new FullPageCapture(png, null);
+        }
+
+        static FullPageCapture image(BufferedImage image) {
+            return new FullPageCapture(null, image);
+        }
+
+        byte[] encode(ImageEncoder.Format format) throws IOException {
+            return png != null ? ImageEncoder.encode(png, format) : ImageEncoder.encode(image, format);
+        }
+    }
+
+    /**
+     * Captures the page source like {@link #capture(WebDriver, String)}: streamed gzipped into the
+     * {@link ArtifactStore}, stored once, and exposed in {@code screenshot.directory} under a name built from the
+     * test name.
+     *
+     * @return the named file in {@code screenshot.directory}
+     */
     public static Path capturePageSource(WebDriver driver, String testName) {
         if (driver == null) {
             throw new IllegalArgumentException("WebDriver must not be null when capturing page source");
         }
+        String pageSource = driver.getPageSource();
+        Path target = ConfigProperties.getScreenshotDirectory()
+                .resolve(attachmentName(testName, PageSourceArchiver.EXTENSION));
         try {
-            Path directory = ConfigProperties.getScreenshotDirectory();
-            Files.createDirectories(directory);
-            String timestamp = LocalDateTime.now().format(FORMATTER);
-            String safeName = testName.replaceAll("[^a-zA-Z0-9_-]", "_");
-            Path destination = directory.resolve(timestamp + "-" + safeName + ".html");
-            Files.writeString(destination, driver.getPageSource());
-            return destination;
+            ArtifactStore store = ArtifactStore.shared();
+            store.link(store.store(out -> PageSourceArchiver.write(pageSource, out), PageSourceArchiver.EXTENSION),
+                    target);
+            return target;
         } catch (IOException e) {
             throw new RuntimeException("Failed to capture page source for test: " + testName, e);
         }
     }
+
+    private static Path storeAs(byte[] bytes, String extension, Path target) throws IOException {
+        ArtifactStore store = ArtifactStore.shared();
+        store.link(store.store(bytes, extension), target);
+        return target;
+    }
 }
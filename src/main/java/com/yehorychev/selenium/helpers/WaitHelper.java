@@ -10,17 +10,18 @@ import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.FluentWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class WaitHelper {
 
@@ -29,9 +30,24 @@ public class WaitHelper {
             StaleElementReferenceException.class
     );
 
+    // Each probe installs the network tracker when no preload did, then reports in the same round trip.
+    private static final String AJAX_PROBE = NetworkActivityTracker.installScript() + """
+
+            return (window.jQuery ? window.jQuery.active : 0) + (window.___fetchInFlight || 0);
+            """;
+    private static final String READINESS_PROBE = NetworkActivityTracker.installScript() + """
+
+            var jqueryActive = window.jQuery ? window.jQuery.active : 0;
+            var fetchInFlight = window.___fetchInFlight || 0;
+            return document.readyState === 'complete' && jqueryActive === 0 && fetchInFlight === 0;
+            """;
+
     private final WebDriver driver;
     private final Duration defaultTimeout;
     private final Duration defaultPolling;
+    private final EventDrivenWait eventDrivenWait;
+    private final LocatorLatencyModel latencyModel = LocatorLatencyModel.shared();
+    private final boolean adaptivePolling = ConfigProperties.isAdaptivePollingEnabled();
     private final Logger log = LoggerFactory.getLogger(WaitHelper.class);
 
     public WaitHelper(WebDriver driver, Duration explicitTimeout) {
@@ -42,6 +58,7 @@ public class WaitHelper {
         this.driver = driver;
         this.defaultTimeout = explicitTimeout != null ? explicitTimeout : ConfigProperties.getDefaultWaitTimeout();
         this.defaultPolling = pollingInterval != null ? pollingInterval : ConfigProperties.getDefaultWaitPollingInterval();
+        this.eventDrivenWait = new EventDrivenWait(driver, ConfigProperties.isEventDrivenWaitEnabled());
     }
 
     public static WaitHelper fromConfig(WebDriver driver) {
@@ -76,11 +93,14 @@ public class WaitHelper {
     }
 
     public void textToBe(By locator, String expectedText) {
-        until(ExpectedConditions.textToBe(locator, expectedText));
+        measured(locator, "textToBe",
+                () -> untilFor(locator, "textToBe", ExpectedConditions.textToBe(locator, expectedText)));
     }
 
     public List<WebElement> numberOfElementsToBe(By locator, int expectedCount) {
-        return until(ExpectedConditions.numberOfElementsToBe(locator, expectedCount));
+        return measured(locator, "numberOfElements",
+                () -> untilFor(locator, "numberOfElements",
+                        ExpectedConditions.numberOfElementsToBe(locator, expectedCount)));
     }
 
     public <T> T until(Function<WebDriver, T> condition) {
@@ -105,12 +125,16 @@ public class WaitHelper {
 
     public void waitForAjaxComplete() {
         log.debug("Waiting for AJAX to finish");
-        until(driver -> {
-            JavascriptExecutor executor = ensureJsExecutor(driver);
-            long jqueryActive = toLong(executor.executeScript("return window.jQuery ? jQuery.active : 0"));
-            long fetchInflight = toLong(executor.executeScript("return window.___fetchInFlight || 0"));
-            return jqueryActive + fetchInflight == 0;
-        });
+        until(driver -> toLong(ensureJsExecutor(driver).executeScript(AJAX_PROBE)) == 0);
+    }
+
+    /**
+     * Waits for document.readyState=complete and no pending jQuery/fetch/XHR requests, checking all
+     * signals in a single script call per poll.
+     */
+    public void waitForPageReadyAndAjax() {
+        log.debug("Waiting for document ready and AJAX idle");
+        until(driver -> Boolean.TRUE.equals(ensureJsExecutor(driver).executeScript(READINESS_PROBE)));
     }
 
     public void waitForAlertDismissed() {
@@ -127,7 +151,10 @@ public class WaitHelper {
 
     public void waitForElementToDisappear(By locator) {
         log.debug("Waiting for element to disappear: {}", locator);
-        until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        measured(locator, "disappear", () -> eventDrivenWait
+                .await(locator, EventDrivenWait.Condition.DISAPPEARED, null, defaultTimeout)
+                .orElseGet(() -> untilFor(locator, "disappear",
+                        ExpectedConditions.invisibilityOfElementLocated(locator))));
     }
 
     public void waitForStaleness(WebElement element) {
@@ -137,15 +164,21 @@ public class WaitHelper {
 
     public void waitForElementsGreaterThan(By locator, int count) {
         log.debug("Waiting for elements greater than {}: {}", count, locator);
-        until(driver -> driver.findElements(locator).size() > count);
+        measured(locator, "countGreaterThan", () -> eventDrivenWait
+                .await(locator, EventDrivenWait.Condition.COUNT_GREATER_THAN, count, defaultTimeout)
+                .orElseGet(() -> untilFor(locator, "countGreaterThan",
+                        driver -> driver.findElements(locator).size() > count)));
     }
 
     public WebElement waitForTextEquals(By locator, String expectedText) {
         log.debug("Waiting for text '{}' on {}", expectedText, locator);
-        return until(driver -> {
-            WebElement element = driver.findElement(locator);
-            return expectedText.equals(element.getText().trim()) ? element : null;
-        });
+        return measured(locator, "textEquals", () -> eventDrivenWait
+                .await(locator, EventDrivenWait.Condition.TEXT_EQUALS, expectedText, defaultTimeout)
+                .map(WebElement.class::cast)
+                .orElseGet(() -> untilFor(locator, "textEquals", driver -> {
+                    WebElement element = driver.findElement(locator);
+                    return expectedText.equals(element.getText().trim()) ? element : null;
+                })));
     }
 
     public void waitForNumberOfWindows(int expected) {
@@ -203,6 +236,32 @@ public class WaitHelper {
         return getJsExecutor().executeScript(script, args);
     }
 
+    /**
+     * Polls a locator condition on the same schedule as {@link LocatorWait}: learned from the latency model for
+     * {@code kind} when adaptive polling is enabled, fixed otherwise.
+     */
+    private <T> T untilFor(By locator, String kind, Function<WebDriver, T> condition) {
+        return forLocator(locator).wait(kind, condition);
+    }
+
+    /**
+     * Runs a locator wait, feeding the latency model on success and the locator metrics either way.
+     */
+    private <T> T measured(By locator, String kind, Supplier<T> wait) {
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            T result = wait.get();
+            latencyModel.record(LocatorLatencyModel.key(locator, kind), Duration.ofNanos(System.nanoTime() - start));
+            return result;
+        } catch (WaitTimeoutException e) {
+            timedOut = true;
+            throw e;
+        } finally {
+            LocatorMetrics.record(locator, kind, System.nanoTime() - start, timedOut);
+        }
+    }
+
     private JavascriptExecutor ensureJsExecutor(WebDriver candidate) {
         if (!(candidate instanceof JavascriptExecutor executor)) {
             throw new IllegalStateException("Driver does not support JavaScript execution");
@@ -254,28 +313,39 @@ public class WaitHelper {
         }
 
         public ElementResult visible() {
-            return new ElementResult(wait(ExpectedConditions.visibilityOfElementLocated(locator)));
+            return new ElementResult(measured(locator, "visible", () -> eventDrivenWait
+                    .await(locator, EventDrivenWait.Condition.VISIBLE, null, timeout)
+                    .map(WebElement.class::cast)
+                    .orElseGet(() -> wait("visible", ExpectedConditions.visibilityOfElementLocated(locator)))));
         }
 
         public ElementResult clickable() {
-            return new ElementResult(wait(ExpectedConditions.elementToBeClickable(locator)));
+            return new ElementResult(measured(locator, "clickable",
+                    () -> wait("clickable", ExpectedConditions.elementToBeClickable(locator))));
         }
 
         public ElementResult present() {
-            return new ElementResult(wait(ExpectedConditions.presenceOfElementLocated(locator)));
+            return new ElementResult(measured(locator, "present",
+                    () -> wait("present", ExpectedConditions.presenceOfElementLocated(locator))));
         }
 
         public ElementCollection allVisible() {
-            return new ElementCollection(wait(ExpectedConditions.visibilityOfAllElementsLocatedBy(locator)));
+            return new ElementCollection(measured(locator, "allVisible",
+                    () -> wait("allVisible", ExpectedConditions.visibilityOfAllElementsLocatedBy(locator))));
         }
 
         public ElementCollection allPresent() {
-            return new ElementCollection(wait(ExpectedConditions.presenceOfAllElementsLocatedBy(locator)));
+            return new ElementCollection(measured(locator, "allPresent",
+                    () -> wait("allPresent", ExpectedConditions.presenceOfAllElementsLocatedBy(locator))));
         }
 
-        private <T> T wait(ExpectedCondition<T> condition) {
+        private <T> T wait(String kind, Function<WebDriver, T> condition) {
             try {
-                return new FluentWait<>(driver)
+                FluentWait<WebDriver> fluentWait = adaptivePolling
+                        ? new FluentWait<>(driver, Clock.systemDefaultZone(),
+                                latencyModel.sleeperFor(LocatorLatencyModel.key(locator, kind), polling, timeout))
+                        : new FluentWait<>(driver);
+                return fluentWait
                         .withTimeout(timeout)
                         .pollingEvery(polling)
                         .ignoreAll(DEFAULT_IGNORED)
@@ -4,7 +4,6 @@ import com.yehorychev.selenium.helpers.WaitHelper;
 import com.yehorychev.selenium.pages.common.BasePage;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -21,8 +20,7 @@ public class AmazonProductResultsPage extends BasePage {
     }
 
     public List<String> getSearchResults() {
-        return findAll(RESULT_ITEMS).stream()
-                .map(WebElement::getText)
+        return getTexts(RESULT_ITEMS).stream()
                 .filter(text -> !text.isBlank())
                 .collect(Collectors.toList());
     }
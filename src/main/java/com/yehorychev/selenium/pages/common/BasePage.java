@@ -1,5 +1,7 @@
 package com.yehorychev.selenium.pages.common;
 
+import com.yehorychev.selenium.config.ConfigProperties;
+import com.yehorychev.selenium.helpers.DomScripts;
 import com.yehorychev.selenium.helpers.WaitHelper;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
@@ -9,22 +11,48 @@ import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 public abstract class BasePage {
 
+    private static final String EXTRACT_SCRIPT = DomScripts.FUNCTIONS + """
+            var using = arguments[0], value = arguments[1], fields = arguments[2], attributes = arguments[3];
+            function text(node) {
+              if (!node) {
+                return null;
+              }
+              return (node.innerText !== undefined ? node.innerText : node.textContent || '').trim();
+            }
+            return queryAll(using, value).filter(isVisible).map(function (container) {
+              var fieldValues = {}, attributeValues = {};
+              Object.keys(fields).forEach(function (name) {
+                fieldValues[name] = text(container.querySelector(fields[name]));
+              });
+              attributes.forEach(function (name) {
+                attributeValues[name] = container.getAttribute(name);
+              });
+              return {element: container, text: text(container), fields: fieldValues, attributes: attributeValues};
+            });
+            """;
+
     protected final WebDriver driver;
     protected final WaitHelper waitHelper;
     protected final Logger log = LoggerFactory.getLogger(getClass());
+    private final ElementCache elementCache;
     private static final int DEFAULT_CLICK_RETRIES = 3;
     private static final Duration DEFAULT_CLICK_BACKOFF = Duration.ofMillis(200);
 
     protected BasePage(WebDriver driver, WaitHelper waitHelper) {
         this.driver = driver;
         this.waitHelper = waitHelper;
+        this.elementCache = new ElementCache(driver, ConfigProperties.isElementCacheEnabled());
     }
 
     public String getTitle() {
@@ -47,9 +75,39 @@ public abstract class BasePage {
         return osName.contains("mac") ? Keys.COMMAND : Keys.CONTROL;
     }
 
+    /**
+     * Locates the element, waiting until it is visible, and remembers it for {@link #withElement}.
+     */
     protected WebElement find(By locator) {
         log.debug("Finding visible element: {}", locator);
-        return waitHelper.visibilityOf(locator);
+        WebElement element = waitHelper.visibilityOf(locator);
+        elementCache.put(locator, element);
+        return element;
+    }
+
+    /**
+     * Runs the action on the element last located for the locator without any lookup or visibility wait.
+     * Only when that reference fails (stale after a re-render or navigation, or no longer interactable) is the
+     * element located again through {@link #find} and the action repeated.
+     */
+    protected <T> T withElement(By locator, Function<WebElement, T> action) {
+        WebElement cached = elementCache.get(locator);
+        if (cached != null) {
+            try {
+                return action.apply(cached);
+            } catch (StaleElementReferenceException | ElementNotInteractableException e) {
+                log.debug("Cached element for {} is no longer usable, locating again", locator);
+                elementCache.evict(locator);
+            }
+        }
+        return action.apply(find(locator));
+    }
+
+    /**
+     * Drops all cached element references, e.g. after an action known to re-render the page.
+     */
+    protected void invalidateElementCache() {
+        elementCache.clear();
     }
 
     protected WebElement findPresent(By locator) {
@@ -80,11 +138,66 @@ public abstract class BasePage {
     }
 
     protected List<String> getTexts(By locator) {
-        return findAll(locator).stream()
-                .map(element -> element.getText().trim())
+        return extractAll(locator, Map.of()).stream()
+                .map(ElementData::text)
                 .toList();
     }
 
+    /**
+     * Reads every element matching {@code containerLocator} in a single script call: its text, the text of
+     * each child located by the CSS selectors in {@code childSelectors} (keyed by field name) and the given
+     * attributes. Like {@link #findAll}, only visible containers are returned and the texts are rendered text
+     * ({@code innerText}, as WebDriver's {@code getText()}); waits until at least one container is visible.
+     * A missing child yields a null field; read children every container must have with
+     * {@link ElementData#requiredField}.
+     */
+    protected List<ElementData> extractAll(By containerLocator, Map<String, String> childSelectors, String... attributes) {
+        log.debug("Extracting {} from elements located by {}", childSelectors.keySet(), containerLocator);
+        waitHelper.visibilityOf(containerLocator);
+        By.Remotable.Parameters parameters = DomScripts.queryParameters(containerLocator).orElse(null);
+        if (parameters == null) {
+            return extractAllPerElement(containerLocator, childSelectors, attributes);
+        }
+
+        Object result = jsExecutor().executeScript(EXTRACT_SCRIPT, parameters.using(), parameters.value(),
+                childSelectors, List.of(attributes));
+        if (!(result instanceof List<?> rows)) {
+            return List.of();
+        }
+        List<ElementData> extracted = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Map<?, ?> values = (Map<?, ?>) row;
+            extracted.add(new ElementData((WebElement) values.get("element"), (String) values.get("text"),
+                    stringMap(values.get("fields")), stringMap(values.get("attributes"))));
+        }
+        return extracted;
+    }
+
+    private List<ElementData> extractAllPerElement(By containerLocator, Map<String, String> childSelectors,
+                                                   String... attributes) {
+        return findAll(containerLocator).stream()
+                .map(container -> {
+                    Map<String, String> fields = new LinkedHashMap<>();
+                    childSelectors.forEach((name, selector) -> fields.put(name, container.findElements(By.cssSelector(selector))
+                            .stream().findFirst().map(child -> child.getText().trim()).orElse(null)));
+                    Map<String, String> attributeValues = new LinkedHashMap<>();
+                    for (String attribute : attributes) {
+                        attributeValues.put(attribute, container.getAttribute(attribute));
+                    }
+                    return new ElementData(container, container.getText().trim(),
+                            Collections.unmodifiableMap(fields), Collections.unmodifiableMap(attributeValues));
+                })
+                .toList();
+    }
+
+    private static Map<String, String> stringMap(Object value) {
+        Map<String, String> copy = new LinkedHashMap<>();
+        if (value instanceof Map<?, ?> map) {
+            map.forEach((key, entry) -> copy.put(String.valueOf(key), entry == null ? null : String.valueOf(entry)));
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
     protected void click(By locator) {
         log.debug("Clicking element: {}", locator);
         waitHelper.retryingClick(locator, DEFAULT_CLICK_RETRIES, DEFAULT_CLICK_BACKOFF);
@@ -98,13 +211,15 @@ public abstract class BasePage {
 
     protected void jsClick(By locator) {
         log.debug("Clicking via JS: {}", locator);
-        WebElement element = find(locator);
-        waitHelper.executeJs("arguments[0].click();", element);
+        withElement(locator, element -> waitHelper.executeJs("arguments[0].click();", element));
     }
 
     protected void hover(By locator) {
         log.debug("Hovering over element: {}", locator);
-        actions().moveToElement(find(locator)).perform();
+        withElement(locator, element -> {
+            actions().moveToElement(element).perform();
+            return null;
+        });
     }
 
     protected void dragAndDrop(By source, By target) {
@@ -114,29 +229,37 @@ public abstract class BasePage {
 
     protected void selectByVisibleText(By locator, String visibleText) {
         log.debug("Selecting '{}' in {}", visibleText, locator);
-        new Select(find(locator)).selectByVisibleText(visibleText);
+        withElement(locator, element -> {
+            new Select(element).selectByVisibleText(visibleText);
+            return null;
+        });
     }
 
     protected void selectByValue(By locator, String value) {
         log.debug("Selecting value '{}' in {}", value, locator);
-        new Select(find(locator)).selectByValue(value);
+        withElement(locator, element -> {
+            new Select(element).selectByValue(value);
+            return null;
+        });
     }
 
     protected void type(By locator, String text) {
-        WebElement element = find(locator);
         log.debug("Typing into element {} text: {}", locator, text);
-        element.clear();
-        element.sendKeys(text);
+        withElement(locator, element -> {
+            element.clear();
+            element.sendKeys(text);
+            return null;
+        });
     }
 
     protected String getText(By locator) {
-        String text = find(locator).getText();
+        String text = withElement(locator, WebElement::getText);
         log.debug("Text for {} is '{}'", locator, text);
         return text;
     }
 
     protected String getAttribute(By locator, String attribute) {
-        String value = find(locator).getAttribute(attribute);
+        String value = withElement(locator, element -> element.getAttribute(attribute));
         log.debug("Attribute '{}' for {} is '{}'", attribute, locator, value);
         return value;
     }
@@ -201,8 +324,7 @@ public abstract class BasePage {
     }
 
     protected void waitForPageReadyAndAjax() {
-        waitForPageReady();
-        waitForAjaxComplete();
+        waitHelper.waitForPageReadyAndAjax();
     }
 
     protected Alert waitForAlert() {
@@ -273,15 +395,16 @@ public abstract class BasePage {
     }
 
     protected void switchToFrame(By locator) {
-        WebElement frame = find(locator);
         log.debug("Switching to frame located by {}", locator);
-        driver.switchTo().frame(frame);
+        withElement(locator, frame -> driver.switchTo().frame(frame));
     }
 
     protected void openLinkInNewTab(By locator) {
-        WebElement link = find(locator);
         log.debug("Opening link in new tab: {}", locator);
-        actions().keyDown(platformControlKey()).click(link).keyUp(platformControlKey()).perform();
+        withElement(locator, link -> {
+            actions().keyDown(platformControlKey()).click(link).keyUp(platformControlKey()).perform();
+            return null;
+        });
     }
 
     protected void addCookie(String name, String value) {
@@ -0,0 +1,76 @@
+package com.yehorychev.selenium.pages.common;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Element references located by one page object, keyed by {@link By}. Hits are not revalidated: a reference is
+ * trusted until an action on it fails, so a hit costs no round trip at all. When one fails, the entry is evicted
+ * and the document identity and URL are read; if either changed since the last eviction, the page was navigated
+ * or replaced and every other reference is dropped as well. Page objects are used from one thread, so no
+ * synchronisation is needed.
+ */
+final class ElementCache {
+
+    private static final String STATE_SCRIPT = """
+            if (!window.___pageEpoch) {
+              window.___pageEpoch = Date.now().toString(36) + Math.random().toString(36).slice(2);
+            }
+            return {epoch: window.___pageEpoch, href: location.href};
+            """;
+
+    private final Logger log = LoggerFactory.getLogger(ElementCache.class);
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private final JavascriptExecutor executor;
+    private final boolean enabled;
+    private Object epoch;
+    private Object href;
+
+    ElementCache(WebDriver driver, boolean enabled) {
+        this.executor = driver instanceof JavascriptExecutor javascriptExecutor ? javascriptExecutor : null;
+        this.enabled = enabled && executor != null;
+    }
+
+    /**
+     * Returns the element last located for the locator, without checking it is still usable.
+     */
+    WebElement get(By locator) {
+        return enabled ? elements.get(locator) : null;
+    }
+
+    void put(By locator, WebElement element) {
+        if (enabled) {
+            elements.put(locator, element);
+        }
+    }
+
+    /**
+     * Drops the entry whose element failed, and every other entry when the document changed since the last
+     * eviction (or this is the first one, when nothing is known about the document yet).
+     */
+    void evict(By locator) {
+        elements.remove(locator);
+        if (!enabled || elements.isEmpty()) {
+            return;
+        }
+        Map<?, ?> state = (Map<?, ?>) executor.executeScript(STATE_SCRIPT);
+        if (!Objects.equals(epoch, state.get("epoch")) || !Objects.equals(href, state.get("href"))) {
+            log.debug("Document is now {}, dropping {} cached elements", state.get("href"), elements.size());
+            elements.clear();
+            epoch = state.get("epoch");
+            href = state.get("href");
+        }
+    }
+
+    void clear() {
+        elements.clear();
+    }
+}
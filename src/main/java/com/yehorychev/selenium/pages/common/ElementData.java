@@ -0,0 +1,34 @@
+package com.yehorychev.selenium.pages.common;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+
+import java.util.Map;
+
+/**
+ * Snapshot of one container element read by {@link BasePage#extractAll}: its trimmed text, the trimmed text
+ * of each requested child (null when the child is missing) and the requested attributes.
+ */
+public record ElementData(WebElement element, String text, Map<String, String> fields, Map<String, String> attributes) {
+
+    public String field(String name) {
+        return fields.get(name);
+    }
+
+    /**
+     * Like {@link #field} for a child every container must have, failing as locating the child directly would.
+     *
+     * @throws NoSuchElementException when the container has no such child
+     */
+    public String requiredField(String name) {
+        String value = fields.get(name);
+        if (value == null) {
+            throw new NoSuchElementException("No '" + name + "' child in element: " + text);
+        }
+        return value;
+    }
+
+    public String attribute(String name) {
+        return attributes.get(name);
+    }
+}
@@ -0,0 +1,193 @@
+package com.yehorychev.selenium.pages.common;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads an HTML table in fixed-size chunks, one script call per chunk, and exposes the rows as a lazy
+ * {@link Stream}, so only one chunk is held in memory at a time. Cell text is the whitespace-collapsed
+ * {@code textContent} of each {@code td}. Columns can be projected by index or by header name.
+ */
+public final class TableReader {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private static final String CELL_TEXT = """
+            function cellsOf(row) {
+              return Array.prototype.filter.call(row.children, function (cell) {
+                return cell.tagName === 'TD' || cell.tagName === 'TH';
+              });
+            }
+            function text(cell) {
+              return cell ? (cell.textContent || '').replace(/\\s+/g, ' ').trim() : null;
+            }
+            """;
+    private static final String CHUNK_SCRIPT = CELL_TEXT + """
+            var root = arguments[0], rowSelector = arguments[1], start = arguments[2], count = arguments[3];
+            var columns = arguments[4];
+            var rows = root.querySelectorAll(rowSelector);
+            var end = Math.min(rows.length, start + count);
+            var result = [];
+            for (var i = start; i < end; i++) {
+              var cells = cellsOf(rows[i]).filter(function (cell) { return cell.tagName === 'TD'; });
+              result.push(columns === null
+                  ? cells.map(text)
+                  : columns.map(function (column) { return text(cells[column]); }));
+            }
+            return {rows: result, more: end < rows.length};
+            """;
+    private static final String HEADER_SCRIPT = CELL_TEXT + """
+            var header = arguments[0].querySelector('thead tr') || arguments[0].querySelector('tr');
+            return header ? cellsOf(header).map(text) : [];
+            """;
+
+    private final JavascriptExecutor executor;
+    private final WebElement table;
+    private String rowSelector = "tbody tr";
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private List<String> headers;
+
+    public TableReader(JavascriptExecutor executor, WebElement table) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.table = Objects.requireNonNull(table, "table");
+    }
+
+    /**
+     * CSS selector, relative to the table element, of the rows to read. Defaults to {@code tbody tr}.
+     */
+    public TableReader rowSelector(String rowSelector) {
+        this.rowSelector = rowSelector;
+        return this;
+    }
+
+    public TableReader chunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    public List<String> headers() {
+        if (headers == null) {
+            headers = toStrings(executor.executeScript(HEADER_SCRIPT, table));
+        }
+        return headers;
+    }
+
+    /**
+     * All {@code td} values of each row. Rows without data cells (e.g. a header row) are empty lists.
+     */
+    public Stream<List<String>> rows() {
+        return stream(null);
+    }
+
+    /**
+     * Values of the given zero-based columns for each row; cells a row does not have are null.
+     */
+    public Stream<List<String>> rows(int... columns) {
+        return stream(Arrays.stream(columns).boxed().toList());
+    }
+
+    public Stream<String> column(int column) {
+        return rows(column).map(row -> row.get(0));
+    }
+
+    /**
+     * Rows mapped by header name, restricted to the given headers (all headers when none are given).
+     *
+     * @throws IllegalArgumentException when a requested header does not exist
+     */
+    public Stream<Map<String, String>> records(String... columnNames) {
+        List<String> available = headers();
+        List<String> names = columnNames.length == 0 ? available : List.of(columnNames);
+        List<Integer> indexes = new ArrayList<>(names.size());
+        for (String name : names) {
+            int index = indexOfIgnoreCase(available, name);
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown table column '" + name + "', available: " + available);
+            }
+            indexes.add(index);
+        }
+        return stream(indexes).map(row -> {
+            Map<String, String> record = new LinkedHashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                record.put(names.get(i), row.get(i));
+            }
+            return Collections.unmodifiableMap(record);
+        });
+    }
+
+    private Stream<List<String>> stream(List<Integer> columns) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new ChunkIterator(columns),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static int indexOfIgnoreCase(List<String> values, String expected) {
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) != null && values.get(i).equalsIgnoreCase(expected)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> toStrings(Object value) {
+        List<String> strings = new ArrayList<>();
+        if (value instanceof List<?> list) {
+            list.forEach(item -> strings.add(item == null ? null : String.valueOf(item)));
+        }
+        return Collections.unmodifiableList(strings);
+    }
+
+    private final class ChunkIterator implements Iterator<List<String>> {
+        private final List<Integer> columns;
+        private final Deque<List<String>> buffer = new ArrayDeque<>();
+        private int offset;
+        private boolean more = true;
+
+        private ChunkIterator(List<Integer> columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (buffer.isEmpty() && more) {
+                fetch();
+            }
+            return !buffer.isEmpty();
+        }
+
+        @Override
+        public List<String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return buffer.poll();
+        }
+
+        private void fetch() {
+            Map<?, ?> chunk = (Map<?, ?>) executor.executeScript(CHUNK_SCRIPT, table, rowSelector, offset, chunkSize, columns);
+            List<?> rows = chunk.get("rows") instanceof List<?> list ? list : List.of();
+            rows.forEach(row -> buffer.add(toStrings(row)));
+            offset += rows.size();
+            more = Boolean.TRUE.equals(chunk.get("more")) && !rows.isEmpty();
+        }
+    }
+}
@@ -1,21 +1,35 @@
 package com.yehorychev.selenium.pages.greenkart;
 
+import com.yehorychev.selenium.config.ConfigProperties;
 import com.yehorychev.selenium.helpers.WaitHelper;
 import com.yehorychev.selenium.pages.common.BasePage;
+import com.yehorychev.selenium.pages.common.ElementData;
 import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
 
 public class TopDealsPage extends BasePage {
 
     private static final By NAME_COLUMN_HEADER = By.xpath("//tr/th[1]");
     private static final By NAME_COLUMN_CELLS = By.xpath("//tr/td[1]");
     private static final By NEXT_BUTTON = By.cssSelector("[aria-label='Next']");
+    private static final By FIRST_BUTTON = By.cssSelector("[aria-label='First']");
+    private static final By TABLE_ROWS = By.xpath("//tr[td]");
+    private static final By FIRST_NAME_CELL = By.xpath("(//tr/td[1])[1]");
+    private static final Map<String, String> ROW_FIELDS = Map.of(
+            "name", "td:nth-child(1)",
+            "price", "td:nth-child(2)"
+    );
 
     private final String parentWindowHandle;
+    private final Map<String, String> priceIndex = new LinkedHashMap<>();
+    private int indexedPages;
+    private boolean fullyIndexed;
 
     public TopDealsPage(WebDriver driver, WaitHelper waitHelper, String parentWindowHandle) {
         super(driver, waitHelper);
@@ -27,31 +41,90 @@ public class TopDealsPage extends BasePage {
     }
 
     public List<String> getDisplayedNames() {
-        return findAll(NAME_COLUMN_CELLS)
-                .stream()
-                .map(WebElement::getText)
-                .collect(Collectors.toList());
+        return getTexts(NAME_COLUMN_CELLS);
     }
 
+    /**
+     * Returns the price of the first row whose name contains {@code veggieName}, in table order. Prices come from
+     * a name to price index that is filled page by page (one script call per page) only as far as needed: paging
+     * stops on the first page holding a matching row. The table is left on its first page.
+     *
+     * @throws NoSuchElementException when no row matches
+     * @throws IllegalStateException when the table has more pages than {@code table.max.pages}
+     */
     public String getPriceFor(String veggieName) {
-        List<String> prices;
-        do {
-            List<WebElement> rows = findAll(NAME_COLUMN_CELLS);
-            prices = rows.stream()
-                    .filter(row -> row.getText().contains(veggieName))
-                    .map(TopDealsPage::extractPrice)
-                    .collect(Collectors.toList());
-
-            if (prices.isEmpty()) {
-                safeClick(NEXT_BUTTON);
+        Optional<String> price = findIndexedPrice(veggieName);
+        if (price.isEmpty() && !fullyIndexed) {
+            indexPagesUntil(veggieName);
+            price = findIndexedPrice(veggieName);
+        }
+        return price.orElseThrow(() -> new NoSuchElementException("No Top Deals row for '" + veggieName
+                + "' among " + priceIndex.size() + " indexed items"));
+    }
+
+    private Optional<String> findIndexedPrice(String veggieName) {
+        return priceIndex.entrySet().stream()
+                .filter(entry -> entry.getKey().contains(veggieName))
+                .map(Map.Entry::getValue)
+                .findFirst();
+    }
+
+    private void indexPagesUntil(String veggieName) {
+        int maxPages = ConfigProperties.getTableMaxPages();
+        String firstPageName = getText(FIRST_NAME_CELL).trim();
+        int page = 1;
+        try {
+            while (true) {
+                if (page > indexedPages) {
+                    boolean matched = false;
+                    for (ElementData row : extractAll(TABLE_ROWS, ROW_FIELDS)) {
+                        String name = row.field("name");
+                        if (name != null) {
+                            priceIndex.putIfAbsent(name, row.field("price"));
+                            matched |= name.contains(veggieName);
+                        }
+                    }
+                    indexedPages = page;
+                    if (matched) {
+                        break;
+                    }
+                }
+                if ("true".equals(getAttribute(NEXT_BUTTON, "aria-disabled"))) {
+                    fullyIndexed = true;
+                    log.debug("Indexed {} Top Deals prices from {} pages", priceIndex.size(), page);
+                    break;
+                }
+                if (page >= maxPages) {
+                    throw new IllegalStateException("Top Deals table has more than " + maxPages
+                            + " pages; raise table.max.pages to search further");
+                }
+                nextPage();
+                page++;
+            }
+        } catch (RuntimeException e) {
+            if (page > 1) {
+                try {
+                    returnToFirstPage(firstPageName);
+                } catch (RuntimeException restoreFailure) {
+                    e.addSuppressed(restoreFailure);
+                }
             }
-        } while (prices.isEmpty());
+            throw e;
+        }
+        if (page > 1) {
+            returnToFirstPage(firstPageName);
+        }
+    }
 
-        return prices.get(0);
+    private void returnToFirstPage(String firstPageName) {
+        safeClick(FIRST_BUTTON);
+        waitUntil(driver -> firstPageName.equals(driver.findElement(FIRST_NAME_CELL).getText().trim()));
     }
 
-    private static String extractPrice(WebElement element) {
-        return element.findElement(By.xpath("following-sibling::td[1]")).getText();
+    private void nextPage() {
+        String firstName = getText(FIRST_NAME_CELL).trim();
+        safeClick(NEXT_BUTTON);
+        waitUntil(driver -> !firstName.equals(driver.findElement(FIRST_NAME_CELL).getText().trim()));
     }
 
     public void closeAndReturn() {
@@ -2,18 +2,19 @@ package com.yehorychev.selenium.pages.practice;
 
 import com.yehorychev.selenium.helpers.WaitHelper;
 import com.yehorychev.selenium.pages.common.BasePage;
+import com.yehorychev.selenium.pages.common.TableReader;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class PracticeTableSection extends BasePage {
 
     private static final By FIXED_HEADER_TABLE = By.cssSelector(".tableFixHead");
-    private static final By FIXED_HEADER_ROWS = By.cssSelector(".tableFixHead tr");
 
     public PracticeTableSection(WebDriver driver, WaitHelper waitHelper) {
         super(driver, waitHelper);
@@ -25,17 +26,20 @@ public class PracticeTableSection extends BasePage {
     }
 
     public List<String> readFourthRowValues() {
-        List<WebElement> rows = findAllPresent(FIXED_HEADER_ROWS);
-        if (rows.size() < 4) {
-            return new ArrayList<>();
-        }
-        List<WebElement> cells = rows.get(3).findElements(By.tagName("td"));
-        return cells.stream().map(WebElement::getText).collect(Collectors.toList());
+        // every tr counts, header row included, so this is the third data row
+        return tableReader().rowSelector("tr").rows()
+                .skip(3)
+                .findFirst()
+                .orElseGet(ArrayList::new);
     }
 
     public List<String> readFourthColumnValues() {
-        return findAllPresent(By.cssSelector(".tableFixHead td:nth-child(4)")).stream()
-                .map(WebElement::getText)
+        return tableReader().rowSelector("tr").column(3)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
+
+    public TableReader tableReader() {
+        return new TableReader(jsExecutor(), find(FIXED_HEADER_TABLE));
+    }
 }
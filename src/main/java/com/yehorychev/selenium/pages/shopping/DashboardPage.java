@@ -2,18 +2,20 @@ package com.yehorychev.selenium.pages.shopping;
 
 import com.yehorychev.selenium.helpers.WaitHelper;
 import com.yehorychev.selenium.pages.common.BasePage;
+import com.yehorychev.selenium.pages.common.ElementData;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
 import java.util.List;
+import java.util.Map;
 
 public class DashboardPage extends BasePage {
 
     private static final By HOME_BUTTON = By.xpath("//button[normalize-space()='HOME']");
     private static final By SIGN_OUT_BUTTON = By.xpath("//button[normalize-space()='Sign Out']");
     private static final By PRODUCTS_LIST = By.cssSelector(".mb-3");
-    private static final By PRODUCT_NAME = By.cssSelector("b");
+    private static final Map<String, String> PRODUCT_FIELDS = Map.of("name", "b");
     private static final By ADD_TO_CART_BUTTON = By.cssSelector(".card-body button:last-of-type");
     private static final By CART_BUTTON = By.cssSelector("button[routerlink='/dashboard/cart']");
     private static final By CART_BADGE = By.cssSelector("button[routerlink='/dashboard/cart'] label");
@@ -34,8 +36,8 @@ public class DashboardPage extends BasePage {
     }
 
     public List<String> getProductNames() {
-        return getProductsList().stream()
-                .map(card -> card.findElement(PRODUCT_NAME).getText().trim())
+        return getProductCards().stream()
+                .map(card -> card.requiredField("name"))
                 .toList();
     }
 
@@ -44,10 +46,16 @@ public class DashboardPage extends BasePage {
                 .anyMatch(name -> name.equalsIgnoreCase(productName));
     }
 
+    private List<ElementData> getProductCards() {
+        waitForPageReadyAndAjax();
+        return extractAll(PRODUCTS_LIST, PRODUCT_FIELDS);
+    }
+
     private WebElement findProductCard(String productName) {
-        return getProductsList().stream()
-                .filter(card -> card.findElement(PRODUCT_NAME).getText().trim().equalsIgnoreCase(productName))
+        return getProductCards().stream()
+                .filter(card -> productName.equalsIgnoreCase(card.requiredField("name")))
                 .findFirst()
+                .map(ElementData::element)
                 .orElseThrow(() -> new IllegalStateException("Product not found: " + productName));
     }
 
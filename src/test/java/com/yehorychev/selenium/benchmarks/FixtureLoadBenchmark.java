@@ -0,0 +1,92 @@
+package com.yehorychev.selenium.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yehorychev.selenium.helpers.BinaryFixtures;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares loading a fixture from text JSON with loading its precompiled binary form, in wall time and
+ * bytes allocated by the loading thread. Uses a synthetic fixture shaped like {@code shopping-products.json}
+ * so the difference is measurable; run with {@code mvn -Pfixture-benchmark test-compile exec:java}
+ * and pass the record count as the first argument (default 20000).
+ */
+public final class FixtureLoadBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(FixtureLoadBenchmark.class);
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<Map<String, Object>>> LIST_TYPE = new TypeReference<>() {};
+
+    private FixtureLoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int records = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        Path directory = Files.createTempDirectory("fixture-benchmark");
+        Path json = directory.resolve("products.json");
+        MAPPER.writeValue(json.toFile(), syntheticFixture(records));
+        Path binary = BinaryFixtures.compile(json).orElseThrow();
+        URL jsonUrl = json.toUri().toURL();
+        URL binaryUrl = binary.toUri().toURL();
+        JavaType elementType = MAPPER.constructType(LIST_TYPE).getContentType();
+
+        log.info("{} records: json {} bytes, binary {} bytes", records, Files.size(json), Files.size(binary));
+        // both paths start from the files on disk; the binary path includes the header read and freshness check
+        report("json, full list", () -> MAPPER.readValue(json.toFile(), LIST_TYPE));
+        report("binary, full list", () -> open(jsonUrl, binaryUrl).elements(elementType));
+        report("json, last element", () -> MAPPER.readValue(json.toFile(), LIST_TYPE).get(records - 1));
+        report("binary, last element", () -> open(jsonUrl, binaryUrl).element(records - 1, elementType));
+    }
+
+    private static BinaryFixtures.Fixture open(URL json, URL binary) {
+        return BinaryFixtures.open(json, binary).orElseThrow(() -> new IllegalStateException("Binary fixture is stale"));
+    }
+
+    private static List<Map<String, Object>> syntheticFixture(int records) {
+        List<Map<String, Object>> fixture = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("productName", "PRODUCT " + i);
+            record.put("productPrice", "$ " + (1000 + i));
+            record.put("countryQuery", "United");
+            record.put("countryToSelect", "United States");
+            fixture.add(record);
+        }
+        return fixture;
+    }
+
+    private static void report(String label, Load load) throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            load.run();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            load.run();
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+        long allocated = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / MEASURED_ROUNDS;
+        log.info("{}: {} ms/load, {} bytes allocated/load", label, String.format(Locale.ROOT, "%.2f", millis), allocated);
+    }
+
+    @FunctionalInterface
+    private interface Load {
+        Object run() throws IOException;
+    }
+}
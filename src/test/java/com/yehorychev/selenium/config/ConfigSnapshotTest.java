@@ -0,0 +1,120 @@
+package com.yehorychev.selenium.config;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+public class ConfigSnapshotTest {
+
+    @Test
+    public void parsesConfigFileIntoTypedComponents() {
+        ConfigSnapshot snapshot = ConfigSnapshot.from(new Properties(), Map.of());
+
+        Assert.assertNull(snapshot.profile());
+        Assert.assertEquals(snapshot.waits().defaultTimeout(), Duration.ofSeconds(5));
+        Assert.assertEquals(snapshot.waits().pollingInterval(), Duration.ofMillis(200));
+        Assert.assertTrue(snapshot.waits().eventDrivenEnabled());
+        Assert.assertTrue(snapshot.waits().adaptivePollingEnabled());
+        Assert.assertTrue(snapshot.screenshots().failuresOnly());
+        Assert.assertEquals(snapshot.screenshots().directory(), Path.of("target/screenshots"));
+        Assert.assertEquals(snapshot.browser().headlessArguments(),
+                List.of("--headless=new", "--disable-gpu", "--window-size=1920,1080"));
+        Assert.assertEquals(snapshot.browser().maxConcurrent(), Map.of("chrome", 0, "firefox", 0, "safari", 1));
+        Assert.assertEquals(snapshot.driver().gridAdmissionTimeout(), Duration.ofSeconds(300));
+        Assert.assertEquals(snapshot.artifacts().storeMaxMegabytes(), 512);
+        Assert.assertEquals(snapshot.tableMaxPages(), 20);
+    }
+
+    @Test
+    public void fallsBackToDefaultsForKeysMissingFromEveryFile() {
+        ConfigSnapshot snapshot = ConfigSnapshot.from(new Properties(), Map.of());
+
+        // screenshot.fullpage.device.pixel.ratio is not in config.properties
+        Assert.assertEquals(snapshot.screenshots().fullPageDevicePixelRatio(), 1.0);
+        Assert.assertEquals(snapshot.browser().override(), "");
+    }
+
+    @Test
+    public void defaultsMatchConfigFile() {
+        ConfigSnapshot snapshot = ConfigSnapshot.from(new Properties(), Map.of());
+
+        ConfigSnapshot.DEFAULTS.forEach((key, value) -> {
+            if (!key.equals("browser")) {
+                Assert.assertEquals(snapshot.get(key, null), value, "default of " + key);
+            }
+        });
+    }
+
+    @Test
+    public void systemPropertiesWinOverEnvironmentAndProfile() {
+        Properties system = new Properties();
+        system.setProperty("config.profile", "ci");
+        system.setProperty("wait.default.seconds", "9");
+
+        ConfigSnapshot snapshot = ConfigSnapshot.from(system, Map.of("WAIT_DEFAULT_SECONDS", "7"));
+
+        Assert.assertEquals(snapshot.profile(), "ci");
+        Assert.assertEquals(snapshot.waits().defaultTimeout(), Duration.ofSeconds(9));
+    }
+
+    @Test
+    public void environmentWinsOverProfile() {
+        ConfigSnapshot snapshot = ConfigSnapshot.from(new Properties(),
+                Map.of("CONFIG_PROFILE", "ci", "WAIT_DEFAULT_SECONDS", "7"));
+
+        Assert.assertEquals(snapshot.waits().defaultTimeout(), Duration.ofSeconds(7));
+    }
+
+    @Test
+    public void profileOverlaysConfigFile() {
+        Properties system = new Properties();
+        system.setProperty("config.profile", " ci ");
+
+        ConfigSnapshot snapshot = ConfigSnapshot.from(system, Map.of());
+
+        Assert.assertEquals(snapshot.profile(), "ci");
+        Assert.assertEquals(snapshot.waits().defaultTimeout(), Duration.ofSeconds(10));
+        Assert.assertEquals(snapshot.waits().pollingInterval(), Duration.ofMillis(200));
+    }
+
+    @Test
+    public void acceptsLegacyAliases() {
+        Properties system = new Properties();
+        system.setProperty("headless", "false");
+
+        ConfigSnapshot snapshot = ConfigSnapshot.from(system, Map.of("DRIVER_OFFLINE", "true", "BROWSER", "firefox"));
+
+        Assert.assertFalse(snapshot.browser().headlessEnabled());
+        Assert.assertTrue(snapshot.driver().offlineMode());
+        Assert.assertEquals(snapshot.browser().override(), "firefox");
+    }
+
+    @Test
+    public void trimsOverridesAndIgnoresBlankOnes() {
+        Properties system = new Properties();
+        system.setProperty("wait.polling.millis", " 50 ");
+        system.setProperty("wait.default.seconds", "  ");
+
+        ConfigSnapshot snapshot = ConfigSnapshot.from(system, Map.of("TABLE_MAX_PAGES", "\t3\n"));
+
+        Assert.assertEquals(snapshot.waits().pollingInterval(), Duration.ofMillis(50));
+        Assert.assertEquals(snapshot.waits().defaultTimeout(), Duration.ofSeconds(5));
+        Assert.assertEquals(snapshot.tableMaxPages(), 3);
+    }
+
+    @Test
+    public void rejectsInvalidNumbersNamingTheKey() {
+        Properties system = new Properties();
+        system.setProperty("artifact.pipeline.threads", "two");
+
+        IllegalArgumentException error = Assert.expectThrows(IllegalArgumentException.class,
+                () -> ConfigSnapshot.from(system, Map.of()));
+
+        Assert.assertTrue(error.getMessage().contains("artifact.pipeline.threads"), error.getMessage());
+    }
+}
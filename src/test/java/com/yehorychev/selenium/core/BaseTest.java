@@ -1,34 +1,49 @@
 package com.yehorychev.selenium.core;
 
 import com.yehorychev.selenium.config.ConfigProperties;
+import com.yehorychev.selenium.helpers.ArtifactPipeline;
+import com.yehorychev.selenium.helpers.JsonDataHelper;
+import com.yehorychev.selenium.helpers.LocatorLatencyModel;
+import com.yehorychev.selenium.helpers.LocatorMetrics;
+import com.yehorychev.selenium.helpers.NetworkActivityTracker;
+import com.yehorychev.selenium.helpers.PageSourceArchiver;
 import com.yehorychev.selenium.helpers.ScreenshotHelper;
 import com.yehorychev.selenium.helpers.WaitHelper;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import io.qameta.allure.Allure;
 import io.qameta.allure.SeverityLevel;
+import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverService;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.safari.SafariOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.Reporter;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.AfterTest;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 import org.testng.annotations.Listeners;
+import org.testng.xml.XmlTest;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 @Listeners({io.qameta.allure.testng.AllureTestNg.class})
 public abstract class BaseTest {
@@ -39,8 +54,13 @@ public abstract class BaseTest {
     // ensuring thread safety during parallel test execution.
     private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
     private static final ThreadLocal<WaitHelper> WAIT_HELPER = new ThreadLocal<>();
-    private static final ReentrantLock SAFARI_LOCK = new ReentrantLock();
-    private static final ThreadLocal<Boolean> SAFARI_LOCK_HELD = ThreadLocal.withInitial(() -> false);
+    private static final BrowserConcurrencyLimiter CONCURRENCY_LIMITER = new BrowserConcurrencyLimiter(
+            browserType -> ConfigProperties.getBrowserMaxConcurrent(browserType.name()));
+    private static final DriverSessionPool SESSION_POOL = new DriverSessionPool(
+            ConfigProperties.isDriverPoolEnabled(), ConfigProperties.getDriverPoolMaxUses(), BaseTest::hasSessionWaiters,
+            BaseTest::replenishProvisioner);
+    private static final Map<ProvisionerKey, DriverProvisioner> PROVISIONERS = new ConcurrentHashMap<>();
+    private static volatile GridAdmissionScheduler gridAdmission;
 
     protected WebDriver driver() {
         WebDriver current = DRIVER.get();
@@ -62,73 +82,210 @@ public abstract class BaseTest {
     @Parameters({"baseUrlKey", "browser"})
     public void setUp(@Optional("") String baseUrlKey, @Optional("") String browserParam) {
         BrowserType browserType = resolveBrowserType(browserParam);
-        lockSafariIfNeeded(browserType);
+        StartupPhaseRecorder.drainCurrentTest();
         WebDriver webDriver = null;
         try {
-            webDriver = createWebDriver(browserType);
-            webDriver.manage().window().maximize();
-            webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(0));
+            webDriver = SESSION_POOL.acquire(browserType, () -> obtainWebDriver(browserType)).driver();
 
             WaitHelper helper = WaitHelper.fromConfig(webDriver);
             DRIVER.set(webDriver);
             WAIT_HELPER.set(helper);
             setTestDriverAttribute(webDriver);
 
-            webDriver.navigate().to(resolveBaseUrl(baseUrlKey));
+            WebDriver navigatingDriver = webDriver;
+            String baseUrl = resolveBaseUrl(baseUrlKey);
+            StartupPhaseRecorder.timeRunnable(browserType, StartupPhaseRecorder.Phase.FIRST_NAVIGATION,
+                    () -> navigatingDriver.navigate().to(baseUrl));
+            publishStartupPhases();
         } catch (RuntimeException e) {
             if (webDriver != null) {
-                webDriver.quit();
+                SESSION_POOL.discard(webDriver);
             }
-            releaseSafariLockIfHeld();
+            DRIVER.remove();
+            WAIT_HELPER.remove();
             throw e;
         }
     }
 
-    private void lockSafariIfNeeded(BrowserType browserType) {
-        if (browserType == BrowserType.SAFARI) {
-            SAFARI_LOCK.lock();
-            SAFARI_LOCK_HELD.set(true);
-        }
-    }
-
     private BrowserType resolveBrowserType(String browserParam) {
         String selection = firstNonBlank(browserParam, ConfigProperties.getBrowserOverride(), ConfigProperties.getDefaultBrowser());
         return BrowserType.from(selection);
     }
 
+    private WebDriver obtainWebDriver(BrowserType browserType) {
+        DriverProvisioner current = startProvisioner(browserType);
+        return current != null
+                ? current.take(browserType, () -> launchWebDriver(browserType))
+                : launchWebDriver(browserType);
+    }
+
+    /**
+     * Pre-warm provisioner of the current {@code <test>} for the browser, created on its first session request
+     * and sized by that {@code <test>}'s thread-count.
+     */
+    private DriverProvisioner startProvisioner(BrowserType browserType) {
+        ProvisionerKey key = provisionerKey(browserType);
+        if (key == null) {
+            return null;
+        }
+        return PROVISIONERS.computeIfAbsent(key, ignored -> {
+            XmlTest xmlTest = Reporter.getCurrentTestResult().getTestContext().getCurrentXmlTest();
+            boolean parallel = xmlTest.getParallel() != null && xmlTest.getParallel().isParallel();
+            int depth = parallel ? xmlTest.getThreadCount() : 1;
+            // with pooling the first wave covers one session per worker; later misses are refilled on retirement
+            return new DriverProvisioner(browserType, depth, !ConfigProperties.isDriverPoolEnabled(),
+                    () -> launchWebDriver(browserType));
+        });
+    }
+
+    private WebDriver launchWebDriver(BrowserType browserType) {
+        WebDriver webDriver = createWebDriver(browserType);
+        try {
+            StartupPhaseRecorder.timeRunnable(browserType, StartupPhaseRecorder.Phase.WINDOW_SETUP, () -> {
+                webDriver.manage().window().maximize();
+                webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(0));
+            });
+            logger.debug("Network activity tracker installed via {}", NetworkActivityTracker.install(webDriver));
+            return webDriver;
+        } catch (RuntimeException e) {
+            webDriver.quit();
+            throw e;
+        }
+    }
+
     private WebDriver createWebDriver(BrowserType browserType) {
-        String remoteUrl = System.getProperty("selenium.grid.url", System.getenv("SELENIUM_GRID_URL"));
-        boolean useRemote = remoteUrl != null && !remoteUrl.isBlank();
+        String remoteUrl = gridUrl();
+        boolean useRemote = !remoteUrl.isEmpty();
 
         if (useRemote) {
             logger.info("Using Remote WebDriver at: {}", remoteUrl);
             return createRemoteWebDriver(remoteUrl, browserType);
         }
 
-        return switch (browserType) {
+        Path binary = StartupPhaseRecorder.time(browserType, StartupPhaseRecorder.Phase.DRIVER_RESOLUTION,
+                () -> DriverBinaryResolver.ensureResolved(browserType));
+        return CONCURRENCY_LIMITER.launch(browserType, () -> switch (browserType) {
             case FIREFOX -> {
-                WebDriverManager.firefoxdriver().setup();
-                yield new FirefoxDriver(buildFirefoxOptions());
+                GeckoDriverService service = startDriverService(browserType,
+                        new GeckoDriverService.Builder().usingDriverExecutable(binary.toFile()).build());
+                yield createSession(browserType, service, () -> new FirefoxDriver(service, buildFirefoxOptions()));
             }
-            case SAFARI -> new SafariDriver(buildSafariOptions());
+            case SAFARI -> createSession(browserType, null, () -> new SafariDriver(buildSafariOptions()));
             case CHROME -> {
-                WebDriverManager.chromedriver().setup();
-                yield new ChromeDriver(buildChromeOptions());
+                ChromeDriverService service = startDriverService(browserType,
+                        new ChromeDriverService.Builder().usingDriverExecutable(binary.toFile()).build());
+                yield createSession(browserType, service, () -> new ChromeDriver(service, buildChromeOptions()));
             }
-        };
+        });
+    }
+
+    private <S extends DriverService> S startDriverService(BrowserType browserType, S service) {
+        StartupPhaseRecorder.timeRunnable(browserType, StartupPhaseRecorder.Phase.DRIVER_SERVICE_START, () -> {
+            try {
+                service.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to start " + browserType + " driver service", e);
+            }
+        });
+        return service;
+    }
+
+    // the W3C new-session command is what spawns the browser process, so both are measured together
+    private WebDriver createSession(BrowserType browserType, DriverService service, Supplier<WebDriver> factory) {
+        try {
+            return StartupPhaseRecorder.time(browserType, StartupPhaseRecorder.Phase.SESSION_CREATION, factory);
+        } catch (RuntimeException e) {
+            if (service != null) {
+                service.stop();
+            }
+            throw e;
+        }
+    }
+
+    // recorded while the Allure test case is still running; a listener firing after the test may be too late
+    private void publishStartupPhases() {
+        Map<String, Long> phases = StartupPhaseRecorder.drainCurrentTest();
+        ITestResult currentResult = Reporter.getCurrentTestResult();
+        if (currentResult != null) {
+            currentResult.setAttribute("startupPhasesMillis", phases);
+        }
+        phases.forEach((phase, millis) -> Allure.parameter("startup." + phase + ".ms", millis));
+        logger.debug("Startup phases: {}", phases);
     }
 
     private WebDriver createRemoteWebDriver(String remoteUrl, BrowserType browserType) {
+        java.net.URL url;
         try {
-            java.net.URL url = URI.create(remoteUrl).toURL();
-            return switch (browserType) {
-                case CHROME -> new org.openqa.selenium.remote.RemoteWebDriver(url, buildChromeOptions());
-                case FIREFOX -> new org.openqa.selenium.remote.RemoteWebDriver(url, buildFirefoxOptions());
-                case SAFARI -> throw new IllegalStateException("Safari not supported in Remote/Grid mode");
-            };
+            url = URI.create(remoteUrl).toURL();
         } catch (Exception e) {
             throw new RuntimeException("Invalid Selenium Grid URL: " + remoteUrl, e);
         }
+        MutableCapabilities options = switch (browserType) {
+            case CHROME -> buildChromeOptions();
+            case FIREFOX -> buildFirefoxOptions();
+            case SAFARI -> throw new IllegalStateException("Safari not supported in Remote/Grid mode");
+        };
+
+        GridAdmissionScheduler admission = gridAdmission(remoteUrl);
+        WebDriver remoteDriver = admission.admit(options.getBrowserName(),
+                () -> createSession(browserType, null, () -> new org.openqa.selenium.remote.RemoteWebDriver(url, options)));
+        long queueWaitMillis = admission.lastQueueWait().toMillis();
+        logger.debug("Waited {} ms for a {} grid slot", queueWaitMillis, options.getBrowserName());
+        ITestResult currentResult = Reporter.getCurrentTestResult();
+        if (currentResult != null) {
+            currentResult.setAttribute("gridQueueWaitMillis", queueWaitMillis);
+        }
+        return remoteDriver;
+    }
+
+    private static GridAdmissionScheduler gridAdmission(String remoteUrl) {
+        GridAdmissionScheduler current = gridAdmission;
+        if (current == null) {
+            synchronized (BaseTest.class) {
+                if (gridAdmission == null) {
+                    gridAdmission = new GridAdmissionScheduler(remoteUrl,
+                            ConfigProperties.getGridMaxSessions(), ConfigProperties.getGridAdmissionTimeout());
+                }
+                current = gridAdmission;
+            }
+        }
+        return current;
+    }
+
+    private static void replenishProvisioner(BrowserType browserType) {
+        ProvisionerKey key = provisionerKey(browserType);
+        DriverProvisioner current = key != null ? PROVISIONERS.get(key) : null;
+        if (current != null) {
+            current.replenish(browserType);
+        }
+    }
+
+    private static ProvisionerKey provisionerKey(BrowserType browserType) {
+        ITestResult currentResult = Reporter.getCurrentTestResult();
+        if (!ConfigProperties.isDriverPrewarmEnabled() || currentResult == null
+                || browserType == BrowserType.SAFARI || !gridUrl().isEmpty()) {
+            // grid sessions are admission-controlled, pre-warmed ones would only hold slots idle
+            return null;
+        }
+        return new ProvisionerKey(currentResult.getTestContext().getName(), browserType);
+    }
+
+    private static boolean hasSessionWaiters(BrowserType browserType) {
+        if (CONCURRENCY_LIMITER.hasWaiters(browserType)) {
+            return true;
+        }
+        // a test joining a pre-warm launch that is itself queued for a permit waits just the same
+        if (PROVISIONERS.values().stream().anyMatch(current -> current.hasWaiters(browserType))
+                && CONCURRENCY_LIMITER.hasQueuedLaunches(browserType)) {
+            return true;
+        }
+        GridAdmissionScheduler current = gridAdmission;
+        return current != null && browserType != BrowserType.SAFARI
+                && current.hasWaiters(browserType.name());
+    }
+
+    private static String gridUrl() {
+        return firstNonBlank(System.getProperty("selenium.grid.url"), System.getenv("SELENIUM_GRID_URL"));
     }
 
     private static String firstNonBlank(String... values) {
@@ -177,6 +334,10 @@ public abstract class BaseTest {
     protected FirefoxOptions buildFirefoxOptions() {
         FirefoxOptions options = new FirefoxOptions();
         options.addArguments("-private");
+        if (ConfigProperties.isNetworkTrackerPreloadEnabled()) {
+            // WebDriver BiDi lets the network activity tracker run as a preload script
+            options.setCapability("webSocketUrl", true);
+        }
 
         boolean isCI = System.getenv("CI") != null || System.getenv("JENKINS_HOME") != null;
         if (ConfigProperties.isHeadlessEnabled() || isCI) {
@@ -199,63 +360,102 @@ public abstract class BaseTest {
         WebDriver webDriver = DRIVER.get();
         try {
             if (webDriver != null) {
+                // named explicitly: inside @AfterMethod the current TestNG result may be this configuration method
+                String testName = result.getTestClass().getRealClass().getSimpleName() + "."
+                        + result.getMethod().getMethodName();
                 boolean failuresOnly = ConfigProperties.captureScreenshotsOnFailuresOnly();
                 boolean shouldCapture = !failuresOnly || result.getStatus() == ITestResult.FAILURE;
                 if (shouldCapture) {
-                    Path screenshotPath = ScreenshotHelper.capture(webDriver, result.getMethod().getMethodName());
-                    attachFileToAllure(screenshotPath, "image/png");
+                    ScreenshotHelper.captureAsync(webDriver, testName);
                 }
                 if (result.getStatus() == ITestResult.FAILURE) {
-                    Path pageSource = ScreenshotHelper.capturePageSource(webDriver, result.getMethod().getMethodName());
-                    attachFileToAllure(pageSource, "text/html");
-                    attachConsoleLogs(webDriver);
+                    ScreenshotHelper.capturePageSourceAsync(webDriver, testName);
+                    attachConsoleLogs(webDriver, testName);
                 }
             }
         } catch (RuntimeException screenshotError) {
             // screenshot failures should not block driver cleanup
         } finally {
             if (webDriver != null) {
-                webDriver.quit();
+                SESSION_POOL.release(webDriver);
             }
             DRIVER.remove();
             WAIT_HELPER.remove();
             result.removeAttribute("driver");
-            releaseSafariLockIfHeld();
         }
     }
 
+    /**
+     * Quits the sessions this {@code <test>} pre-warmed but never used, so they do not hold browser permits
+     * while later {@code <test>} blocks run.
+     */
+    @AfterTest(alwaysRun = true)
+    public void shutdownDriverProvisioners(ITestContext context) {
+        PROVISIONERS.forEach((key, current) -> {
+            if (key.testName().equals(context.getName())) {
+                current.shutdown();
+            }
+        });
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void shutdownDriverPool() {
+        PROVISIONERS.values().forEach(DriverProvisioner::shutdown);
+        SESSION_POOL.shutdown();
+        if (!ArtifactPipeline.shared().flush(ConfigProperties.getArtifactFlushTimeout())) {
+            logger.warn("{} artifacts were not written before the suite ended", ArtifactPipeline.shared().pendingCount());
+        }
+        JsonDataHelper.writeFile(ConfigProperties.getMetricsDirectory().resolve("attachments.json"),
+                ArtifactPipeline.shared().statsPerTest());
+        logger.info("Driver binary resolution stats: {}", DriverBinaryResolver.stats());
+        StartupPhaseRecorder.writeSummary(ConfigProperties.getMetricsDirectory().resolve("startup-phases.json"));
+        LocatorLatencyModel.shared().persist(ConfigProperties.getLocatorLatencyFile());
+        LocatorMetrics.writeJson(ConfigProperties.getMetricsDirectory().resolve("locator-waits.json"));
+        LocatorMetrics.writePrometheus(ConfigProperties.getMetricsDirectory().resolve("locator-waits.prom"));
+        logger.info("Page source capture stats: {}", PageSourceArchiver.stats());
+        logger.info("Fixture cache stats: {}", JsonDataHelper.fixtureCacheStats());
+        ScreenshotHelper.captureTimes().forEach((strategy, times) -> {
+            if (times.count() > 0) {
+                logger.info("Full-page screenshots via {}: {}", strategy, times.summary());
+            }
+        });
+        CONCURRENCY_LIMITER.acquireWaits().forEach((browserType, waits) ->
+                logger.info("{} session permit wait: {}", browserType, waits.summary()));
+        GridAdmissionScheduler admission = gridAdmission;
+        if (admission != null) {
+            logger.info("Selenium Grid admission stats: {}", admission.stats());
+        }
+    }
+
+    protected static DriverProvisioner.Stats driverProvisionerStats() {
+        return PROVISIONERS.values().stream()
+                .map(DriverProvisioner::stats)
+                .reduce(new DriverProvisioner.Stats(0, 0, 0, 0), DriverProvisioner.Stats::plus);
+    }
+
+    protected static DriverSessionPool.Stats driverPoolStats() {
+        return SESSION_POOL.stats();
+    }
+
     protected void annotateDataSet(String description, SeverityLevel severity) {
         Allure.description(description);
         Allure.getLifecycle().updateTestCase(testResult -> testResult.setDescription(description));
         Allure.label("severity", severity.value());
     }
 
-    private void attachFileToAllure(Path path, String mimeType) {
-        try (var input = Files.newInputStream(path)) {
-            Allure.addAttachment(path.getFileName().toString(), mimeType, input, path.toString().endsWith(".html") ? "html" : "png");
-        } catch (IOException ignored) {
-            // ignore attachment failures
-        }
-    }
-
-    private void attachConsoleLogs(WebDriver webDriver) {
+    private void attachConsoleLogs(WebDriver webDriver, String testName) {
         try {
             var logs = webDriver.manage().logs().get("browser");
-            StringBuilder builder = new StringBuilder();
-            logs.forEach(entry -> builder.append(entry.getLevel()).append(": ").append(entry.getMessage()).append(System.lineSeparator()));
-            Allure.addAttachment("Browser console", builder.toString());
+            Iterable<String> lines = () -> logs.getAll().stream()
+                    .map(entry -> entry.getLevel() + ": " + entry.getMessage())
+                    .iterator();
+            ArtifactPipeline.shared().submitLines(testName, "Browser console", lines,
+                    ConfigProperties.getConsoleLogMaxKilobytes() * 1024);
         } catch (Exception ignored) {
             // some drivers may not support log retrieval
         }
     }
 
-    private void releaseSafariLockIfHeld() {
-        if (Boolean.TRUE.equals(SAFARI_LOCK_HELD.get())) {
-            SAFARI_LOCK_HELD.set(false);
-            SAFARI_LOCK.unlock();
-        }
-    }
-
     private void setTestDriverAttribute(WebDriver driver) {
         ITestResult currentResult = Reporter.getCurrentTestResult();
         if (currentResult != null) {
@@ -263,6 +463,9 @@ public abstract class BaseTest {
         }
     }
 
+    private record ProvisionerKey(String testName, BrowserType browserType) {
+    }
+
     protected enum BrowserType {
         CHROME,
         FIREFOX,
@@ -0,0 +1,103 @@
+package com.yehorychev.selenium.core;
+
+import com.yehorychev.selenium.helpers.LatencyHistogram;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of live local browser sessions per {@link BaseTest.BrowserType} with fair semaphores.
+ * A permit is taken before the browser is launched and returned when the session quits. Time spent
+ * waiting for a permit is recorded per browser so agents can be sized from the data. Only test threads
+ * count as waiters for {@link #hasWaiters}; background pre-warm launches queue on the same permits and are
+ * reported separately by {@link #hasQueuedLaunches}, so callers can tell whether a test is waiting on them.
+ */
+public final class BrowserConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserConcurrencyLimiter.class);
+
+    private final Map<BaseTest.BrowserType, Semaphore> permits = new EnumMap<>(BaseTest.BrowserType.class);
+    private final Map<BaseTest.BrowserType, LatencyHistogram> acquireWaits = new EnumMap<>(BaseTest.BrowserType.class);
+    private final Map<BaseTest.BrowserType, AtomicInteger> testThreadWaiters = new EnumMap<>(BaseTest.BrowserType.class);
+
+    /**
+     * @param limitLookup maximum concurrent sessions per browser; values below 1 mean unlimited
+     */
+    public BrowserConcurrencyLimiter(ToIntFunction<BaseTest.BrowserType> limitLookup) {
+        for (BaseTest.BrowserType browserType : BaseTest.BrowserType.values()) {
+            int limit = limitLookup.applyAsInt(browserType);
+            if (limit > 0) {
+                permits.put(browserType, new Semaphore(limit, true));
+                acquireWaits.put(browserType, new LatencyHistogram());
+                testThreadWaiters.put(browserType, new AtomicInteger());
+                logger.debug("Limiting {} to {} concurrent sessions", browserType, limit);
+            }
+        }
+    }
+
+    /**
+     * Launches the browser once a permit is available. Unlimited browsers are launched immediately and
+     * returned undecorated.
+     */
+    public WebDriver launch(BaseTest.BrowserType browserType, Supplier<WebDriver> launcher) {
+        Semaphore semaphore = permits.get(browserType);
+        if (semaphore == null) {
+            return launcher.get();
+        }
+
+        AtomicInteger waiters = testThreadWaiters.get(browserType);
+        boolean testThread = !DriverProvisioner.isProvisionerThread();
+        long start = System.nanoTime();
+        if (testThread) {
+            waiters.incrementAndGet();
+        }
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a " + browserType + " session permit", e);
+        } finally {
+            if (testThread) {
+                waiters.decrementAndGet();
+            }
+        }
+        acquireWaits.get(browserType).recordNanos(System.nanoTime() - start);
+
+        try {
+            return PermitReleasingListener.bind(launcher.get(), semaphore);
+        } catch (RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Whether a test thread is blocked waiting for a permit of this browser; pre-warm launches are ignored.
+     */
+    public boolean hasWaiters(BaseTest.BrowserType browserType) {
+        AtomicInteger waiters = testThreadWaiters.get(browserType);
+        return waiters != null && waiters.get() > 0;
+    }
+
+    /**
+     * Whether any launch of this browser, test thread or pre-warm, is blocked waiting for a permit.
+     */
+    public boolean hasQueuedLaunches(BaseTest.BrowserType browserType) {
+        Semaphore semaphore = permits.get(browserType);
+        return semaphore != null && semaphore.hasQueuedThreads();
+    }
+
+    /**
+     * Acquire-wait histograms for every browser that has a limit configured.
+     */
+    public Map<BaseTest.BrowserType, LatencyHistogram> acquireWaits() {
+        return Map.copyOf(acquireWaits);
+    }
+}
@@ -0,0 +1,128 @@
+package com.yehorychev.selenium.core;
+
+import com.yehorychev.selenium.config.ConfigProperties;
+import com.yehorychev.selenium.helpers.LatencyHistogram;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves each browser's driver binary once per JVM and memoizes the path. In offline mode the binary is
+ * taken from the pinned directory configured by {@code driver.binary.directory} and WebDriverManager is
+ * never contacted, which keeps air-gapped CI agents working.
+ */
+public final class DriverBinaryResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinaryResolver.class);
+    private static final Map<BaseTest.BrowserType, Path> RESOLVED = new ConcurrentHashMap<>();
+    private static final LatencyHistogram MISS_LATENCY = new LatencyHistogram();
+    private static final LatencyHistogram HIT_LATENCY = new LatencyHistogram();
+
+    private DriverBinaryResolver() {
+        // utility class
+    }
+
+    /**
+     * Makes sure the driver binary for the browser is resolved and registered as the matching
+     * {@code webdriver.*.driver} system property. Only the first call per browser does any work.
+     *
+     * @return the driver binary, or {@code null} for Safari whose driver ships with the OS
+     */
+    public static Path ensureResolved(BaseTest.BrowserType browserType) {
+        if (browserType == BaseTest.BrowserType.SAFARI) {
+            return null;
+        }
+        long start = System.nanoTime();
+        Path cached = RESOLVED.get(browserType);
+        if (cached != null) {
+            HIT_LATENCY.recordNanos(System.nanoTime() - start);
+            return cached;
+        }
+        // includes callers that block while another thread resolves the same browser
+        Path resolved = RESOLVED.computeIfAbsent(browserType, DriverBinaryResolver::resolve);
+        MISS_LATENCY.recordNanos(System.nanoTime() - start);
+        return resolved;
+    }
+
+    /**
+     * Measured latency of calls served from the memoized path (hits) and of calls that resolved or waited for
+     * a resolution (misses), side by side, plus the time the memoization saved this run: every hit would
+     * otherwise have cost a miss's mean latency instead of its own.
+     */
+    public static Stats stats() {
+        LatencyHistogram.Summary misses = MISS_LATENCY.summary();
+        LatencyHistogram.Summary hits = HIT_LATENCY.summary();
+        double savedMillis = 0;
+        if (misses.count() > 0 && hits.count() > 0) {
+            double perHit = misses.totalMillis() / misses.count() - hits.totalMillis() / hits.count();
+            savedMillis = Math.max(0, perHit) * hits.count();
+        }
+        return new Stats(RESOLVED.size(), misses, hits, savedMillis);
+    }
+
+    private static Path resolve(BaseTest.BrowserType browserType) {
+        long start = System.nanoTime();
+        Path binary = ConfigProperties.isDriverOfflineMode()
+                ? resolvePinned(browserType)
+                : resolveWithWebDriverManager(browserType);
+        System.setProperty(systemPropertyFor(browserType), binary.toString());
+        long elapsed = System.nanoTime() - start;
+        logger.info("Resolved {} driver binary {} in {} ms", browserType, binary, elapsed / 1_000_000);
+        return binary;
+    }
+
+    private static Path resolvePinned(BaseTest.BrowserType browserType) {
+        String fileName = binaryNameFor(browserType);
+        if (System.getProperty("os.name", "").toLowerCase().contains("win")) {
+            fileName += ".exe";
+        }
+        Path binary = ConfigProperties.getDriverBinaryDirectory().resolve(fileName).toAbsolutePath();
+        if (!Files.isExecutable(binary)) {
+            throw new IllegalStateException("Offline driver mode is enabled but no executable " + fileName
+                    + " was found in " + binary.getParent());
+        }
+        return binary;
+    }
+
+    private static Path resolveWithWebDriverManager(BaseTest.BrowserType browserType) {
+        WebDriverManager manager = switch (browserType) {
+            case CHROME -> WebDriverManager.chromedriver();
+            case FIREFOX -> WebDriverManager.firefoxdriver();
+            case SAFARI -> throw new IllegalArgumentException("Safari does not need driver resolution");
+        };
+        manager.setup();
+        String downloaded = manager.getDownloadedDriverPath();
+        if (downloaded == null || downloaded.isBlank()) {
+            downloaded = System.getProperty(systemPropertyFor(browserType));
+        }
+        if (downloaded == null || downloaded.isBlank()) {
+            throw new IllegalStateException("WebDriverManager did not resolve a driver for " + browserType);
+        }
+        return Path.of(downloaded);
+    }
+
+    private static String binaryNameFor(BaseTest.BrowserType browserType) {
+        return switch (browserType) {
+            case CHROME -> "chromedriver";
+            case FIREFOX -> "geckodriver";
+            case SAFARI -> "safaridriver";
+        };
+    }
+
+    private static String systemPropertyFor(BaseTest.BrowserType browserType) {
+        return switch (browserType) {
+            case CHROME -> "webdriver.chrome.driver";
+            case FIREFOX -> "webdriver.gecko.driver";
+            case SAFARI -> "webdriver.safari.driver";
+        };
+    }
+
+    public record Stats(int resolutions, LatencyHistogram.Summary misses, LatencyHistogram.Summary hits,
+                        double savedMillis) {
+    }
+}
@@ -0,0 +1,175 @@
+package com.yehorychev.selenium.core;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Launches browser sessions in the background so that test setup can take an already started driver
+ * from a bounded queue instead of blocking on browser start-up. The queue starts full. Without session
+ * pooling every driver taken from it triggers the launch of its replacement while the current test is
+ * running; with pooling, sessions outlive tests, so a replacement is launched only when the pool retires a
+ * session ({@link #replenish}) and no idle browsers pile up next to the pooled ones.
+ */
+public final class DriverProvisioner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverProvisioner.class);
+    private static final ThreadLocal<Boolean> PROVISIONER_THREAD = ThreadLocal.withInitial(() -> false);
+
+    private final BaseTest.BrowserType browserType;
+    private final Supplier<WebDriver> launcher;
+    private final BlockingQueue<CompletableFuture<LaunchedDriver>> ready;
+    private final ExecutorService executor;
+    private final boolean refillOnTake;
+    private final AtomicLong launched = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+    private final AtomicLong hiddenLatencyNanos = new AtomicLong();
+    private final AtomicInteger joiningTestThreads = new AtomicInteger();
+    private volatile boolean running = true;
+
+    /**
+     * @param refillOnTake launch a replacement whenever a driver is taken; pass false when sessions are pooled
+     *                     and call {@link #replenish} when the pool retires one instead
+     */
+    public DriverProvisioner(BaseTest.BrowserType browserType, int depth, boolean refillOnTake,
+                             Supplier<WebDriver> launcher) {
+        int capacity = Math.max(1, depth);
+        this.browserType = browserType;
+        this.refillOnTake = refillOnTake;
+        this.launcher = launcher;
+        this.ready = new ArrayBlockingQueue<>(capacity);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(capacity, runnable -> {
+            Thread thread = new Thread(() -> {
+                PROVISIONER_THREAD.set(true);
+                runnable.run();
+            }, "driver-provisioner-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("Pre-warming up to {} {} sessions", capacity, browserType);
+        refill();
+    }
+
+    /**
+     * Returns a pre-warmed driver for the requested browser, or launches one synchronously through the
+     * fallback when nothing matching is queued or the background launch failed.
+     */
+    public WebDriver take(BaseTest.BrowserType requested, Supplier<WebDriver> fallback) {
+        CompletableFuture<LaunchedDriver> pending = requested == browserType && running ? ready.poll() : null;
+        if (pending == null) {
+            fallbacks.incrementAndGet();
+            return fallback.get();
+        }
+        if (refillOnTake) {
+            refill();
+        }
+
+        long waitStart = System.nanoTime();
+        joiningTestThreads.incrementAndGet();
+        try {
+            LaunchedDriver launchedDriver = pending.join();
+            long waited = System.nanoTime() - waitStart;
+            hiddenLatencyNanos.addAndGet(Math.max(0, launchedDriver.launchNanos() - waited));
+            consumed.incrementAndGet();
+            return launchedDriver.driver();
+        } catch (CompletionException e) {
+            logger.warn("Pre-warmed {} session failed to start, launching synchronously", browserType, e.getCause());
+            fallbacks.incrementAndGet();
+            return fallback.get();
+        } finally {
+            joiningTestThreads.decrementAndGet();
+        }
+    }
+
+    /**
+     * Whether a test thread is blocked waiting for a pre-warmed session of the browser that is still launching.
+     */
+    public boolean hasWaiters(BaseTest.BrowserType requested) {
+        return requested == browserType && joiningTestThreads.get() > 0;
+    }
+
+    /**
+     * Launches one replacement for a retired session of the given browser, if the queue has room.
+     */
+    public synchronized void replenish(BaseTest.BrowserType retired) {
+        if (running && retired == browserType && ready.remainingCapacity() > 0) {
+            ready.offer(CompletableFuture.supplyAsync(this::launch, executor));
+        }
+    }
+
+    /**
+     * Whether the calling thread is a background launcher of some provisioner rather than a test thread.
+     */
+    static boolean isProvisionerThread() {
+        return PROVISIONER_THREAD.get();
+    }
+
+    /**
+     * Stops provisioning and quits every queued driver that was never handed out. Later calls do nothing.
+     */
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        List<CompletableFuture<LaunchedDriver>> leftovers = new ArrayList<>();
+        ready.drainTo(leftovers);
+        leftovers.forEach(future -> future.thenAccept(launchedDriver -> quitQuietly(launchedDriver.driver())));
+        executor.shutdown();
+        logger.info("Driver provisioner stats: {}", stats());
+    }
+
+    public Stats stats() {
+        return new Stats(launched.get(), consumed.get(), fallbacks.get(), hiddenLatencyNanos.get() / 1_000_000);
+    }
+
+    private synchronized void refill() {
+        while (running && ready.remainingCapacity() > 0) {
+            ready.offer(CompletableFuture.supplyAsync(this::launch, executor));
+        }
+    }
+
+    private LaunchedDriver launch() {
+        long start = System.nanoTime();
+        WebDriver driver = launcher.get();
+        launched.incrementAndGet();
+        if (!running) {
+            quitQuietly(driver);
+            throw new IllegalStateException("Driver provisioner already shut down");
+        }
+        return new LaunchedDriver(driver, System.nanoTime() - start);
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            logger.debug("Ignoring failure while quitting pre-warmed driver", e);
+        }
+    }
+
+    private record LaunchedDriver(WebDriver driver, long launchNanos) {
+    }
+
+    public record Stats(long launched, long consumed, long fallbacks, long hiddenLatencyMillis) {
+
+        public Stats plus(Stats other) {
+            return new Stats(launched + other.launched, consumed + other.consumed, fallbacks + other.fallbacks,
+                    hiddenLatencyMillis + other.hiddenLatencyMillis);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.yehorychev.selenium.core;
+
+import com.yehorychev.selenium.helpers.NetworkActivityTracker;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Keeps WebDriver sessions alive across test methods. Idle sessions are shared between worker threads in a
+ * per-browser deque, so a session outlives the thread that started it and is picked up by whichever test
+ * needs that browser next. Sessions are recycled after a configurable number of uses, when a health check
+ * fails or when another thread is waiting for the browser permit or grid slot they occupy.
+ * <p>
+ * Between tests a session is reset to a fresh tab with cookies and storage cleared for every origin it
+ * visited. Only Chromium sessions can be wiped that completely (through CDP); sessions of other browsers are
+ * quit after each test instead of leaking cross-origin state into the next one.
+ */
+public final class DriverSessionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverSessionPool.class);
+
+    private final boolean enabled;
+    private final int maxUsesPerSession;
+    private final Predicate<BaseTest.BrowserType> yieldPolicy;
+    private final Consumer<BaseTest.BrowserType> retirementListener;
+    private final Map<BaseTest.BrowserType, Deque<PooledSession>> idle = new EnumMap<>(BaseTest.BrowserType.class);
+    private final ThreadLocal<PooledSession> leased = new ThreadLocal<>();
+    private final Set<PooledSession> openSessions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong recycled = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+
+    /**
+     * @param yieldPolicy tells whether a released session of the browser should be quit instead of kept,
+     *                    e.g. because other threads are queued for the same permits or Selenium Grid slots
+     * @param retirementListener notified when a session is quit after a test, i.e. when a later test will need
+     *                           a new session of that browser
+     */
+    public DriverSessionPool(boolean enabled, int maxUsesPerSession, Predicate<BaseTest.BrowserType> yieldPolicy,
+                             Consumer<BaseTest.BrowserType> retirementListener) {
+        this.enabled = enabled;
+        this.maxUsesPerSession = Math.max(1, maxUsesPerSession);
+        this.yieldPolicy = yieldPolicy;
+        this.retirementListener = retirementListener;
+        for (BaseTest.BrowserType browserType : BaseTest.BrowserType.values()) {
+            idle.put(browserType, new ConcurrentLinkedDeque<>());
+        }
+    }
+
+    /**
+     * Leases the most recently released healthy session of the requested browser, otherwise creates a fresh
+     * one through the supplied factory.
+     */
+    public Lease acquire(BaseTest.BrowserType browserType, Supplier<WebDriver> factory) {
+        PooledSession session;
+        while ((session = idle.get(browserType).pollFirst()) != null) {
+            if (isHealthy(session.driver)) {
+                hits.incrementAndGet();
+                logger.debug("Reusing pooled {} session (use {} of {})", browserType, session.uses + 1, maxUsesPerSession);
+                leased.set(session);
+                return new Lease(session.driver, true);
+            }
+            logger.info("Discarding unhealthy pooled {} session", browserType);
+            close(session);
+            discarded.incrementAndGet();
+            retirementListener.accept(browserType);
+        }
+
+        misses.incrementAndGet();
+        WebDriver driver = factory.get();
+        PooledSession created = new PooledSession(driver, browserType);
+        openSessions.add(created);
+        leased.set(created);
+        return new Lease(driver, false);
+    }
+
+    /**
+     * Hands the driver back after a test. The session is reset and parked for the next test of the same
+     * browser unless pooling is disabled, the browser cannot be reset completely, the use limit is reached or
+     * the reset fails.
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leased.get();
+        leased.remove();
+        if (session == null || session.driver != driver) {
+            quitQuietly(driver);
+            return;
+        }
+
+        session.uses++;
+        if (!enabled) {
+            close(session);
+            return;
+        }
+        if (!(driver instanceof HasCdp)) {
+            logger.debug("{} session cannot clear state for every origin, not pooling it", session.browserType);
+            close(session);
+            retirementListener.accept(session.browserType);
+            return;
+        }
+        if (session.uses >= maxUsesPerSession || yieldPolicy.test(session.browserType)) {
+            logger.debug("Recycling {} session after {} uses", session.browserType, session.uses);
+            close(session);
+            recycled.incrementAndGet();
+            retirementListener.accept(session.browserType);
+            return;
+        }
+        try {
+            reset(session.driver, (HasCdp) driver);
+            idle.get(session.browserType).offerFirst(session);
+        } catch (RuntimeException e) {
+            logger.warn("Pooled {} session failed to reset, discarding it", session.browserType, e);
+            close(session);
+            discarded.incrementAndGet();
+            retirementListener.accept(session.browserType);
+        }
+    }
+
+    /**
+     * Quits the driver unconditionally, e.g. when setup failed half way.
+     */
+    public void discard(WebDriver driver) {
+        PooledSession session = leased.get();
+        leased.remove();
+        if (session != null && session.driver == driver) {
+            close(session);
+            discarded.incrementAndGet();
+            retirementListener.accept(session.browserType);
+        } else {
+            quitQuietly(driver);
+        }
+    }
+
+    /**
+     * Quits every session, idle or still leased.
+     */
+    public void shutdown() {
+        idle.values().forEach(Deque::clear);
+        openSessions.forEach(session -> quitQuietly(session.driver));
+        openSessions.clear();
+        leased.remove();
+        logger.info("Driver session pool stats: {}", stats());
+    }
+
+    public Stats stats() {
+        return new Stats(hits.get(), misses.get(), recycled.get(), discarded.get());
+    }
+
+    /**
+     * Replaces every window with one fresh tab (dropping history and session storage) and re-registers the
+     * network tracker there, then clears cookies for all origins and every other kind of storage for each origin
+     * found in the closed tabs' history and frames.
+     */
+    private void reset(WebDriver driver, HasCdp cdp) {
+        Set<String> origins = new LinkedHashSet<>();
+        List<String> staleHandles = new ArrayList<>(driver.getWindowHandles());
+        for (String handle : staleHandles) {
+            driver.switchTo().window(handle);
+            dismissAlertIfPresent(driver);
+            collectOrigins(cdp, origins);
+        }
+
+        driver.switchTo().newWindow(WindowType.TAB);
+        String freshHandle = driver.getWindowHandle();
+        for (String handle : staleHandles) {
+            driver.switchTo().window(handle).close();
+        }
+        driver.switchTo().window(freshHandle);
+        // preload scripts are registered per tab
+        NetworkActivityTracker.install(driver);
+
+        cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        for (String origin : origins) {
+            cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+        }
+        logger.debug("Cleared pooled session state for {}", origins);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void collectOrigins(HasCdp cdp, Set<String> origins) {
+        Map<String, Object> history = cdp.executeCdpCommand("Page.getNavigationHistory", Map.of());
+        for (Object entry : (List<Object>) history.getOrDefault("entries", List.of())) {
+            addOrigin(origins, (String) ((Map<String, Object>) entry).get("url"));
+        }
+        Map<String, Object> frames = cdp.executeCdpCommand("Page.getFrameTree", Map.of());
+        collectFrameOrigins((Map<String, Object>) frames.get("frameTree"), origins);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void collectFrameOrigins(Map<String, Object> node, Set<String> origins) {
+        if (node == null) {
+            return;
+        }
+        Map<String, Object> frame = (Map<String, Object>) node.get("frame");
+        if (frame != null) {
+            addOrigin(origins, (String) frame.get("url"));
+        }
+        for (Object child : (List<Object>) node.getOrDefault("childFrames", List.of())) {
+            collectFrameOrigins((Map<String, Object>) child, origins);
+        }
+    }
+
+    private static void addOrigin(Set<String> origins, String url) {
+        if (url == null) {
+            return;
+        }
+        try {
+            URI uri = URI.create(url);
+            if (("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) && uri.getHost() != null) {
+                origins.add(uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort()));
+            }
+        } catch (IllegalArgumentException ignored) {
+            // not a URL any storage can be keyed by
+        }
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            return !driver.getWindowHandles().isEmpty();
+        } catch (RuntimeException e) {
+            logger.debug("Pooled session failed health check", e);
+            return false;
+        }
+    }
+
+    private void dismissAlertIfPresent(WebDriver driver) {
+        try {
+            driver.switchTo().alert().dismiss();
+        } catch (NoAlertPresentException ignored) {
+            // nothing to dismiss
+        }
+    }
+
+    private void close(PooledSession session) {
+        openSessions.remove(session);
+        quitQuietly(session.driver);
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            logger.debug("Ignoring failure while quitting driver", e);
+        }
+    }
+
+    public record Lease(WebDriver driver, boolean reused) {
+    }
+
+    public record Stats(long hits, long misses, long recycled, long discarded) {
+    }
+
+    private static final class PooledSession {
+        private final WebDriver driver;
+        private final BaseTest.BrowserType browserType;
+        private int uses;
+
+        private PooledSession(WebDriver driver, BaseTest.BrowserType browserType) {
+            this.driver = driver;
+            this.browserType = browserType;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.yehorychev.selenium.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Hands out per-browser permits for remote sessions so that no more sessions are requested than the grid
+ * can run at once. Capacity comes from {@code selenium.grid.max.sessions} when set, otherwise from the
+ * slots reported by the grid's {@code /status} endpoint. Waiters are served in FIFO order and a permit is
+ * returned when the session it was issued for quits.
+ */
+public final class GridAdmissionScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(GridAdmissionScheduler.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration STATUS_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+    private final Map<String, Integer> discoveredCapacity;
+    private final int configuredLimit;
+    private final Duration admissionTimeout;
+    private final AtomicLong admissions = new AtomicLong();
+    private final AtomicLong queuedAdmissions = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final ThreadLocal<Long> lastWaitNanos = ThreadLocal.withInitial(() -> 0L);
+
+    public GridAdmissionScheduler(String gridUrl, int configuredLimit, Duration admissionTimeout) {
+        this.configuredLimit = configuredLimit;
+        this.admissionTimeout = admissionTimeout;
+        this.discoveredCapacity = configuredLimit > 0 ? Map.of() : readGridCapacity(gridUrl);
+    }
+
+    /**
+     * Waits for a free slot for the browser, then starts the session through the supplied factory. The
+     * returned driver gives its permit back when it quits.
+     */
+    public WebDriver admit(String browserName, Supplier<WebDriver> sessionFactory) {
+        Semaphore semaphore = permitsFor(browserName);
+        long start = System.nanoTime();
+        try {
+            if (!semaphore.tryAcquire(admissionTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out after " + admissionTimeout.toSeconds()
+                        + "s waiting for a free " + browserName + " slot on the Selenium Grid");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a Selenium Grid slot", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            WebDriver driver = sessionFactory.get();
+            return PermitReleasingListener.bind(driver, semaphore);
+        } catch (RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Whether other threads are queued for the browser, in which case idle sessions should be given back.
+     */
+    public boolean hasWaiters(String browserName) {
+        Semaphore semaphore = permits.get(key(browserName));
+        return semaphore != null && semaphore.hasQueuedThreads();
+    }
+
+    /**
+     * Queue time spent by the current thread in its most recent admission.
+     */
+    public Duration lastQueueWait() {
+        return Duration.ofNanos(lastWaitNanos.get());
+    }
+
+    public Stats stats() {
+        return new Stats(admissions.get(), queuedAdmissions.get(),
+                totalWaitNanos.get() / 1_000_000, maxWaitNanos.get() / 1_000_000);
+    }
+
+    private void recordWait(long waitedNanos) {
+        lastWaitNanos.set(waitedNanos);
+        admissions.incrementAndGet();
+        if (waitedNanos > TimeUnit.MILLISECONDS.toNanos(1)) {
+            queuedAdmissions.incrementAndGet();
+        }
+        totalWaitNanos.addAndGet(waitedNanos);
+        maxWaitNanos.accumulateAndGet(waitedNanos, Math::max);
+    }
+
+    private Semaphore permitsFor(String browserName) {
+        return permits.computeIfAbsent(key(browserName), name -> {
+            int capacity = configuredLimit > 0 ? configuredLimit : discoveredCapacity.getOrDefault(name, Integer.MAX_VALUE);
+            logger.info("Selenium Grid admission capacity for {}: {}", name,
+                    capacity == Integer.MAX_VALUE ? "unlimited" : capacity);
+            return new Semaphore(capacity, true);
+        });
+    }
+
+    private static Map<String, Integer> readGridCapacity(String gridUrl) {
+        String statusUrl = gridUrl.replaceAll("/+$", "") + "/status";
+        try {
+            HttpClient client = HttpClient.newBuilder().connectTimeout(STATUS_TIMEOUT).build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(statusUrl)).timeout(STATUS_TIMEOUT).GET().build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            Map<String, Integer> capacity = new HashMap<>();
+            for (JsonNode node : MAPPER.readTree(response.body()).path("value").path("nodes")) {
+                for (JsonNode slot : node.path("slots")) {
+                    String browserName = slot.path("stereotype").path("browserName").asText("");
+                    if (!browserName.isBlank()) {
+                        capacity.merge(key(browserName), 1, Integer::sum);
+                    }
+                }
+            }
+            logger.info("Discovered Selenium Grid slots from {}: {}", statusUrl, capacity);
+            return capacity;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Map.of();
+        } catch (Exception e) {
+            logger.warn("Could not read Selenium Grid capacity from {}, sessions will not be throttled", statusUrl, e);
+            return Map.of();
+        }
+    }
+
+    private static String key(String browserName) {
+        return browserName.toLowerCase(Locale.ROOT);
+    }
+
+    public record Stats(long admissions, long queuedAdmissions, long totalWaitMillis, long maxWaitMillis) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.yehorychev.selenium.core;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Returns a semaphore permit exactly once when the decorated driver quits, no matter which component
+ * (session pool, provisioner, setup error path) ends the session.
+ */
+final class PermitReleasingListener implements WebDriverListener {
+
+    private final Semaphore semaphore;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private PermitReleasingListener(Semaphore semaphore) {
+        this.semaphore = semaphore;
+    }
+
+    static WebDriver bind(WebDriver driver, Semaphore semaphore) {
+        return new EventFiringDecorator<>(new PermitReleasingListener(semaphore)).decorate(driver);
+    }
+
+    @Override
+    public void afterQuit(WebDriver driver) {
+        release();
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        if ("quit".equals(method.getName())) {
+            release();
+        }
+    }
+
+    private void release() {
+        if (released.compareAndSet(false, true)) {
+            semaphore.release();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.yehorychev.selenium.core;
+
+import com.yehorychev.selenium.helpers.JsonDataHelper;
+import com.yehorychev.selenium.helpers.LatencyHistogram;
+import org.testng.Reporter;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Times the individual phases of test setup. Every measurement feeds a per-browser, per-phase histogram;
+ * measurements taken on a TestNG worker thread are additionally collected for the running test so they can
+ * be published with its result. Work done ahead of time (pre-warmed or pooled sessions) therefore shows up
+ * in the suite summary but not as cost of the test that picked the session up.
+ */
+public final class StartupPhaseRecorder {
+
+    public enum Phase {
+        DRIVER_RESOLUTION,
+        DRIVER_SERVICE_START,
+        SESSION_CREATION,
+        WINDOW_SETUP,
+        FIRST_NAVIGATION
+    }
+
+    private static final Map<BaseTest.BrowserType, Map<Phase, LatencyHistogram>> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<Phase, Long>> CURRENT_TEST = ThreadLocal.withInitial(() -> new EnumMap<>(Phase.class));
+
+    private StartupPhaseRecorder() {
+        // utility class
+    }
+
+    public static <T> T time(BaseTest.BrowserType browserType, Phase phase, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(browserType, phase, System.nanoTime() - start);
+        }
+    }
+
+    public static void timeRunnable(BaseTest.BrowserType browserType, Phase phase, Runnable action) {
+        time(browserType, phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns the phases measured for the current test in milliseconds and starts a fresh collection.
+     */
+    public static Map<String, Long> drainCurrentTest() {
+        Map<Phase, Long> phases = CURRENT_TEST.get();
+        Map<String, Long> millis = new LinkedHashMap<>();
+        phases.forEach((phase, nanos) -> millis.put(phase.name(), nanos / 1_000_000));
+        phases.clear();
+        return Collections.unmodifiableMap(millis);
+    }
+
+    /**
+     * Writes p50/p95/max per browser and phase as JSON.
+     */
+    public static void writeSummary(Path destination) {
+        Map<String, Map<String, LatencyHistogram.Summary>> summary = new TreeMap<>();
+        HISTOGRAMS.forEach((browserType, phases) -> {
+            Map<String, LatencyHistogram.Summary> perPhase = new LinkedHashMap<>();
+            phases.forEach((phase, histogram) -> {
+                if (histogram.count() > 0) {
+                    perPhase.put(phase.name(), histogram.summary());
+                }
+            });
+            summary.put(browserType.name(), perPhase);
+        });
+        JsonDataHelper.writeFile(destination, summary);
+    }
+
+    private static void record(BaseTest.BrowserType browserType, Phase phase, long nanos) {
+        HISTOGRAMS.computeIfAbsent(browserType, ignored -> newPhaseHistograms()).get(phase).recordNanos(nanos);
+        if (Reporter.getCurrentTestResult() != null) {
+            CURRENT_TEST.get().merge(phase, nanos, Long::sum);
+        }
+    }
+
+    private static Map<Phase, LatencyHistogram> newPhaseHistograms() {
+        Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new LatencyHistogram());
+        }
+        return Collections.unmodifiableMap(histograms);
+    }
+}
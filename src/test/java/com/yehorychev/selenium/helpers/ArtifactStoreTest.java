@@ -0,0 +1,148 @@
+package com.yehorychev.selenium.helpers;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+public class ArtifactStoreTest {
+
+    private Path directory;
+    private Path root;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("artifact-store-test");
+        root = directory.resolve("store");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    public void storesIdenticalBytesOnce() throws IOException {
+        ArtifactStore store = new ArtifactStore(root, 1024);
+
+        Path first = store.store(bytes("same content"), "txt");
+        Path second = store.store(bytes("same content"), "txt");
+
+        Assert.assertEquals(second, first);
+        Assert.assertEquals(Files.readAllBytes(first), bytes("same content"));
+        Assert.assertEquals(store.deduplicatedCount(), 1);
+        Assert.assertEquals(blobCount(), 1);
+    }
+
+    @Test
+    public void keepsDifferentContentApart() {
+        ArtifactStore store = new ArtifactStore(root, 1024);
+
+        Path first = store.store(bytes("first"), "txt");
+        Path second = store.store(bytes("second"), "txt");
+
+        Assert.assertNotEquals(second, first);
+        Assert.assertEquals(store.deduplicatedCount(), 0);
+    }
+
+    @Test
+    public void streamedContentMatchesStoredBytes() throws IOException {
+        ArtifactStore store = new ArtifactStore(root, 1024);
+
+        Path stored = store.store(bytes("page source"), "html");
+        Path streamed = store.store(out -> out.write(bytes("page source")), "html");
+
+        Assert.assertEquals(streamed, stored);
+        Assert.assertEquals(store.deduplicatedCount(), 1);
+        Assert.assertEquals(blobCount(), 1);
+    }
+
+    @Test
+    public void leavesNoTemporaryFilesBehind() throws IOException {
+        ArtifactStore store = new ArtifactStore(root, 1024);
+
+        store.store(bytes("content"), "txt");
+        store.store(out -> out.write(bytes("content")), "txt");
+        store.store(out -> out.write(bytes("other")), "txt");
+
+        try (Stream<Path> files = Files.walk(root)) {
+            Assert.assertTrue(files.noneMatch(file -> file.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    public void linksBlobToTarget() throws IOException {
+        ArtifactStore store = new ArtifactStore(root, 1024);
+        Path blob = store.store(bytes("screenshot"), "png");
+        Path target = directory.resolve("allure-results").resolve("attachment.png");
+
+        store.link(blob, target);
+
+        Assert.assertEquals(Files.readAllBytes(target), bytes("screenshot"));
+    }
+
+    @Test
+    public void retentionDeletesOldestBlobAndItsAttachments() throws IOException {
+        ArtifactStore store = new ArtifactStore(root, 10);
+        Path older = store.store(bytes("older!"), "txt");
+        Files.setLastModifiedTime(older, FileTime.fromMillis(0));
+        Path attachment = directory.resolve("allure-results").resolve("older.txt");
+        store.link(older, attachment);
+
+        Path newer = store.store(bytes("newer!"), "txt");
+
+        Assert.assertFalse(Files.exists(older), "oldest blob should be pruned");
+        Assert.assertFalse(Files.exists(attachment), "attachment of the pruned blob should be deleted");
+        Assert.assertTrue(Files.exists(newer));
+        Assert.assertEquals(blobCount(), 1);
+    }
+
+    @Test
+    public void reuseKeepsBlobFromRetention() throws IOException {
+        ArtifactStore store = new ArtifactStore(root, 12);
+        Path reused = store.store(bytes("reused"), "txt");
+        Path unused = store.store(bytes("unused"), "bin");
+        Files.setLastModifiedTime(reused, FileTime.fromMillis(0));
+        Files.setLastModifiedTime(unused, FileTime.fromMillis(1000));
+
+        // storing the same content again counts as a fresh use
+        store.store(bytes("reused"), "txt");
+        store.store(bytes("latest"), "log");
+
+        Assert.assertTrue(Files.exists(reused));
+        Assert.assertFalse(Files.exists(unused));
+    }
+
+    @Test
+    public void fillsStoreUpToTheLimitWithoutPruning() throws IOException {
+        ArtifactStore store = new ArtifactStore(root, 12);
+
+        Path first = store.store(bytes("first!"), "txt");
+        Path second = store.store(bytes("second"), "txt");
+
+        Assert.assertTrue(Files.exists(first));
+        Assert.assertTrue(Files.exists(second));
+    }
+
+    private long blobCount() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
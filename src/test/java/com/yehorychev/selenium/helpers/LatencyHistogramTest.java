@@ -0,0 +1,104 @@
+package com.yehorychev.selenium.helpers;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        Assert.assertEquals(histogram.count(), 0);
+        Assert.assertEquals(histogram.percentileMillis(50), 0.0);
+        Assert.assertEquals(histogram.percentileMillis(99), 0.0);
+        Assert.assertEquals(histogram.maxMillis(), 0.0);
+    }
+
+    @Test
+    public void percentilesUseBucketBoundsCappedAtMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(Duration.ofMillis(3));
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(Duration.ofMillis(150));
+        }
+
+        Assert.assertEquals(histogram.percentileMillis(0), 5.0);
+        Assert.assertEquals(histogram.percentileMillis(50), 5.0);
+        Assert.assertEquals(histogram.percentileMillis(90), 5.0);
+        // the 200 ms bucket bound is capped at the slowest recording
+        Assert.assertEquals(histogram.percentileMillis(95), 150.0);
+        Assert.assertEquals(histogram.percentileMillis(100), 150.0);
+        Assert.assertEquals(histogram.totalMillis(), 90 * 3 + 10 * 150.0);
+    }
+
+    @Test
+    public void singleRecordingIsReportedExactly() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(Duration.ofMillis(7));
+
+        Assert.assertEquals(histogram.percentileMillis(50), 7.0);
+        Assert.assertEquals(histogram.summary(), new LatencyHistogram.Summary(1, 7.0, 7.0, 7.0, 7.0));
+    }
+
+    @Test
+    public void valuesOnABoundBelongToThatBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(Duration.ofMillis(5));
+        histogram.record(Duration.ofMillis(6));
+
+        long[] cumulative = histogram.cumulativeCounts();
+        Assert.assertEquals(cumulative[2], 1, "5 ms falls into the <= 5 ms bucket");
+        Assert.assertEquals(cumulative[3], 2, "6 ms falls into the <= 10 ms bucket");
+    }
+
+    @Test
+    public void slowRecordingsLandInOpenEndedBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(Duration.ofSeconds(90));
+
+        Assert.assertEquals(histogram.percentileMillis(99), 90_000.0);
+        long[] cumulative = histogram.cumulativeCounts();
+        Assert.assertEquals(cumulative.length, LatencyHistogram.bucketBoundsMillis().length + 1);
+        Assert.assertEquals(cumulative[cumulative.length - 2], 0);
+        Assert.assertEquals(cumulative[cumulative.length - 1], 1);
+    }
+
+    @Test
+    public void negativeDurationsCountAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.recordNanos(-1_000_000);
+
+        Assert.assertEquals(histogram.count(), 1);
+        Assert.assertEquals(histogram.totalMillis(), 0.0);
+        Assert.assertEquals(histogram.cumulativeCounts()[0], 1);
+    }
+
+    @Test
+    public void mergeAddsCountsAndKeepsLargestMax() {
+        LatencyHistogram first = new LatencyHistogram();
+        first.record(Duration.ofMillis(3));
+        first.record(Duration.ofMillis(40));
+        LatencyHistogram second = new LatencyHistogram();
+        second.record(Duration.ofMillis(700));
+        LatencyHistogram total = new LatencyHistogram();
+
+        first.mergeInto(total);
+        second.mergeInto(total);
+
+        Assert.assertEquals(total.count(), 3);
+        Assert.assertEquals(total.maxMillis(), 700.0);
+        Assert.assertEquals(total.totalMillis(), 743.0);
+        Assert.assertEquals(total.percentileMillis(50), 50.0);
+        long[] cumulative = total.cumulativeCounts();
+        Assert.assertEquals(cumulative[cumulative.length - 1], total.count());
+    }
+}
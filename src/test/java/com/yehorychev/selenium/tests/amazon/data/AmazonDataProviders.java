@@ -13,7 +13,7 @@ public final class AmazonDataProviders {
 
     @DataProvider(name = "amazonSearchKeywords")
     public static Object[][] amazonSearchKeywords() {
-        List<String> keywords = JsonDataHelper.readResource(
+        List<String> keywords = JsonDataHelper.readResourceCached(
                 "assets/data/amazon-search-keywords.json",
                 new TypeReference<List<String>>() {}
         );
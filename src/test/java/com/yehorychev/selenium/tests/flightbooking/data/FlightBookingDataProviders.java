@@ -13,7 +13,7 @@ public final class FlightBookingDataProviders {
 
     @DataProvider(name = "flightBookingScenarios")
     public static Object[][] flightBookingScenarios() {
-        List<FlightBookingTestData> records = JsonDataHelper.readResource(
+        List<FlightBookingTestData> records = JsonDataHelper.readResourceCached(
                 "assets/data/flightbooking-passengers.json",
                 new TypeReference<List<FlightBookingTestData>>() {}
         );
@@ -13,7 +13,7 @@ public final class GreenKartDataProviders {
 
     @DataProvider(name = "greenKartCartScenarios")
     public static Object[][] greenKartCartScenarios() {
-        List<GreenKartTestData> records = JsonDataHelper.readResource(
+        List<GreenKartTestData> records = JsonDataHelper.readResourceCached(
                 "assets/data/greenkart-products.json",
                 new TypeReference<List<GreenKartTestData>>() {}
         );
@@ -24,7 +24,7 @@ public final class GreenKartDataProviders {
 
     @DataProvider(name = "greenKartTopDeals")
     public static Object[][] greenKartTopDeals() {
-        return JsonDataHelper.readResource(
+        return JsonDataHelper.readResourceCached(
                 "assets/data/greenkart-top-deals.json",
                 new TypeReference<List<TopDealsData>>() {}
         ).stream()
@@ -34,7 +34,7 @@ public final class GreenKartDataProviders {
 
     @DataProvider(name = "greenKartCartSorting")
     public static Object[][] greenKartCartSorting() {
-        return JsonDataHelper.readResource(
+        return JsonDataHelper.readResourceCached(
                 "assets/data/greenkart-products.json",
                 new TypeReference<List<GreenKartTestData>>() {}
         ).stream()
@@ -6,4 +6,10 @@ public record GreenKartTestData(List<String> vegetables,
                                 List<String> expectedCartNames,
                                 String promoCode,
                                 boolean expectSorted) {
+
+    // cached fixtures are shared by parallel tests, so the lists must not be mutable
+    public GreenKartTestData {
+        vegetables = vegetables == null ? List.of() : List.copyOf(vegetables);
+        expectedCartNames = expectedCartNames == null ? List.of() : List.copyOf(expectedCartNames);
+    }
 }
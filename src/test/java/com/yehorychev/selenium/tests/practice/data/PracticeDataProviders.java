@@ -13,7 +13,7 @@ public final class PracticeDataProviders {
 
     @DataProvider(name = "practiceAlerts")
     public static Object[][] practiceAlerts() {
-        List<PracticeAlertData> records = JsonDataHelper.readResource(
+        List<PracticeAlertData> records = JsonDataHelper.readResourceCached(
                 "assets/data/practice-alerts.json",
                 new TypeReference<List<PracticeAlertData>>() {}
         );
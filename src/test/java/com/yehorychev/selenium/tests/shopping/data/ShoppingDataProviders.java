@@ -5,7 +5,7 @@ import com.yehorychev.selenium.helpers.JsonDataHelper;
 import com.yehorychev.selenium.tests.shared.data.TestDataFactory;
 import org.testng.annotations.DataProvider;
 
-import java.util.List;
+import java.util.Iterator;
 
 public final class ShoppingDataProviders {
 
@@ -15,15 +15,8 @@ public final class ShoppingDataProviders {
     }
 
     @DataProvider(name = "shoppingProducts")
-    public static Object[][] shoppingProducts() {
-        List<ShoppingTestData> records = JsonDataHelper.readResource(
-                SHOPPING_FIXTURE,
-                new TypeReference<List<ShoppingTestData>>() {}
-        );
-
-        return records.stream()
-                .map(record -> new Object[]{record})
-                .toArray(Object[][]::new);
+    public static Iterator<Object[]> shoppingProducts() {
+        return JsonDataHelper.streamResource(SHOPPING_FIXTURE, new TypeReference<ShoppingTestData>() {});
     }
 
     @DataProvider(name = "shoppingProductsFaker")